@@ -0,0 +1,142 @@
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Future of a read running on an executor, for the async methods of ExcelReaderUtil.
+ * Cancelling the future interrupts the thread running the read, and the row loops stop at the next row
+ * once they see the interrupt, so a cancelled read releases its file and thread without parsing the rest of the sheet.
+ */
+final class AsyncRead<T> extends CompletableFuture<T> {
+    
+    /**
+     * A blocking read to run
+     */
+    interface Task<T> {
+        T run() throws IOException;
+    }
+    
+    /** Set while a thread runs a cancellable read, so that an interrupt only stops reads that asked for it */
+    private static final ThreadLocal<Boolean> CANCELLABLE = new ThreadLocal<>();
+    
+    private final Object lock = new Object();
+    private Thread runner;
+    /** Set once cancel has interrupted the runner */
+    private boolean interrupted;
+    
+    private AsyncRead() {
+    }
+    
+    /**
+     * Start a read on an executor
+     * 
+     * @param task Read to run
+     * @param executor Executor to run it on
+     * @return Future completed with the result of the read, or exceptionally with the exception it threw
+     */
+    static <T> CompletableFuture<T> start(Task<T> task, Executor executor) {
+        AsyncRead<T> future = new AsyncRead<>();
+        try {
+            executor.execute(() -> future.run(task));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    private void run(Task<T> task) {
+        synchronized (lock) {
+            if (isDone()) {
+                // Cancelled while queued
+                return;
+            }
+            runner = Thread.currentThread();
+        }
+        
+        try {
+            complete(runCancellable(task));
+        } catch (Throwable e) {
+            completeExceptionally(e);
+        } finally {
+            synchronized (lock) {
+                runner = null;
+                // A cancel that raced with the end of the read must not leak into the next task of a pooled thread.
+                // Any other interrupt belongs to whoever owns the thread, so it is left set.
+                if (interrupted) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+    
+    /**
+     * Run a read on the current thread so that an interrupt stops it at the next row with a CancellationException.
+     * Reads run any other way ignore interrupts, as they always did.
+     * 
+     * @param task Read to run
+     * @return Result of the read
+     * @throws IOException If there's an issue reading the file
+     */
+    static <T> T runCancellable(Task<T> task) throws IOException {
+        if (CANCELLABLE.get() != null) {
+            return task.run();
+        }
+        CANCELLABLE.set(Boolean.TRUE);
+        try {
+            return task.run();
+        } finally {
+            CANCELLABLE.remove();
+        }
+    }
+    
+    /**
+     * @return true if the current thread is running a read started with runCancellable
+     */
+    static boolean isCancellable() {
+        return CANCELLABLE.get() != null;
+    }
+    
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        boolean cancelled = super.cancel(mayInterruptIfRunning);
+        synchronized (lock) {
+            if (cancelled && runner != null) {
+                runner.interrupt();
+                interrupted = true;
+            }
+        }
+        return cancelled;
+    }
+    
+    /**
+     * @return Executor used when none is configured: a virtual thread per read on JDK 21+,
+     * otherwise daemon threads created as needed and kept for a minute once idle
+     */
+    static Executor sharedExecutor() {
+        return DefaultExecutor.INSTANCE;
+    }
+    
+    /**
+     * Holder creating the default executor on first use
+     */
+    private static final class DefaultExecutor {
+        
+        static final Executor INSTANCE = create();
+        
+        private static Executor create() {
+            try {
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                AtomicInteger threadCount = new AtomicInteger();
+                return Executors.newCachedThreadPool(r -> {
+                    Thread thread = new Thread(r, "excel-reader-async-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+}
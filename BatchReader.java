@@ -0,0 +1,423 @@
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reads the same sheet from every file of a directory with readSheetAsMap, several files at a time.
+ * Files are read on a fixed pool of threads, and a heap budget limits how many large workbooks are loaded at once:
+ * each file reserves an estimate of the heap its workbook takes before it is opened, and waits while the budget is used up.
+ * A failing file is recorded in the report and the rest of the batch carries on.
+ * <pre>
+ * BatchReader.Report report = new BatchReader("Sheet1")
+ *         .threads(4)
+ *         .heapBudget(2L &lt;&lt; 30)
+ *         .run("/data/drop", "*.xlsx", (file, rows) -&gt; repository.save(rows));
+ * </pre>
+ */
+public class BatchReader {
+    
+    /**
+     * Rough heap taken by a loaded workbook, per byte of file. Zipped .xlsx XML expands the most;
+     * CSV files are copied into an in-memory workbook.
+     */
+    private static final int XLSX_HEAP_PER_FILE_BYTE = 50;
+    private static final int XLS_HEAP_PER_FILE_BYTE = 8;
+    private static final int CSV_HEAP_PER_FILE_BYTE = 30;
+    
+    /** Heap is reserved in KiB, so that budgets beyond 2 GB fit the semaphore's permits */
+    private static final int BUDGET_UNIT = 1024;
+    
+    /**
+     * Receives the rows of each file that was read successfully
+     */
+    public interface FileHandler {
+        
+        /**
+         * Handle the rows of one file; called on a pool thread, possibly for several files at once.
+         * An exception marks the file as failed without stopping the batch.
+         * 
+         * @param filePath Path of the file
+         * @param rows Rows of the sheet, as returned by readSheetAsMap
+         * @throws Exception If the rows could not be handled
+         */
+        void handle(String filePath, List<Map<String, Object>> rows) throws Exception;
+    }
+    
+    private final String sheetName;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long heapBudget = Runtime.getRuntime().maxMemory() / 2;
+    private ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions();
+    
+    /**
+     * @param sheetName Name of the sheet to read from every file
+     */
+    public BatchReader(String sheetName) {
+        this.sheetName = sheetName;
+    }
+    
+    /**
+     * Read this many files at the same time, the number of processors by default
+     * 
+     * @param threads Number of pool threads
+     * @return This reader
+     */
+    public BatchReader threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        this.threads = threads;
+        return this;
+    }
+    
+    /**
+     * Limit the estimated heap of the workbooks loaded at the same time, half the maximum heap by default.
+     * A file whose estimate exceeds the whole budget is read on its own.
+     * 
+     * @param heapBudget Heap budget in bytes
+     * @return This reader
+     */
+    public BatchReader heapBudget(long heapBudget) {
+        if (heapBudget < BUDGET_UNIT) {
+            throw new IllegalArgumentException("Heap budget must be at least " + BUDGET_UNIT + " bytes");
+        }
+        this.heapBudget = heapBudget;
+        return this;
+    }
+    
+    /**
+     * Read every file with these options
+     * 
+     * @param options Options controlling how cells are read
+     * @return This reader
+     */
+    public BatchReader options(ExcelReaderUtil.ReadOptions options) {
+        this.options = options;
+        return this;
+    }
+    
+    /**
+     * Read every regular file of a directory
+     * 
+     * @param directory Directory holding the files
+     * @param handler Callback receiving the rows of each file
+     * @return Report with one result per file, in directory order
+     * @throws IOException If the directory cannot be listed
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the batch
+     */
+    public Report run(String directory, FileHandler handler) throws IOException, InterruptedException {
+        return run(directory, "*", handler);
+    }
+    
+    /**
+     * Read the regular files of a directory whose names match a glob, e.g. "*.{xls,xlsx}".
+     * Hidden files are skipped, and subdirectories are not searched.
+     * 
+     * @param directory Directory holding the files
+     * @param glob Pattern the file names must match, in the syntax of FileSystem.getPathMatcher
+     * @param handler Callback receiving the rows of each file
+     * @return Report with one result per file, in directory order
+     * @throws IOException If the directory cannot be listed
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the batch
+     */
+    public Report run(String directory, String glob, FileHandler handler) throws IOException, InterruptedException {
+        List<String> filePaths = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(directory), glob)) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file) && !file.getFileName().toString().startsWith(".")) {
+                    filePaths.add(file.toString());
+                }
+            }
+        }
+        Collections.sort(filePaths);
+        return run(filePaths, handler);
+    }
+    
+    /**
+     * Read a list of files
+     * 
+     * @param filePaths Paths of the files to read
+     * @param handler Callback receiving the rows of each file
+     * @return Report with one result per file, in the order given
+     * @throws InterruptedException If the calling thread is interrupted while waiting for the batch
+     */
+    public Report run(List<String> filePaths, FileHandler handler) throws InterruptedException {
+        int budgetUnits = (int) Math.min(Integer.MAX_VALUE, heapBudget / BUDGET_UNIT);
+        // Fair, so that a large file waiting for the budget is not overtaken by a stream of small ones
+        Semaphore budget = new Semaphore(budgetUnits, true);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "excel-batch-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        long start = System.nanoTime();
+        try {
+            List<Future<FileResult>> futures = new ArrayList<>();
+            for (String filePath : filePaths) {
+                futures.add(pool.submit(() -> readFile(filePath, handler, budget, budgetUnits)));
+            }
+            
+            List<FileResult> results = new ArrayList<>();
+            for (Future<FileResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    // readFile records its own failures, so only errors such as OutOfMemoryError get here
+                    throw new IllegalStateException("Batch read failed", e.getCause());
+                }
+            }
+            return new Report(results, System.nanoTime() - start);
+        } finally {
+            // Interrupts the reads still running when the batch is abandoned
+            pool.shutdownNow();
+        }
+    }
+    
+    private FileResult readFile(String filePath, FileHandler handler, Semaphore budget, int budgetUnits) throws InterruptedException {
+        long queued = System.nanoTime();
+        long start = queued;
+        long bytes = Paths.get(filePath).toFile().length();
+        int reserved = 0;
+        try {
+            reserved = (int) Math.min(budgetUnits, Math.max(1, estimateHeap(filePath, bytes) / BUDGET_UNIT));
+            budget.acquire(reserved);
+            // The throughput only counts the read and the handler, not the wait for the budget
+            start = System.nanoTime();
+            try {
+                List<Map<String, Object>> rows = read(filePath);
+                handler.handle(filePath, rows);
+                return new FileResult(filePath, bytes, rows.size(), start - queued, System.nanoTime() - start, null);
+            } finally {
+                budget.release(reserved);
+            }
+        } catch (InterruptedException e) {
+            throw e;
+        } catch (Exception e) {
+            return new FileResult(filePath, bytes, 0, start - queued, System.nanoTime() - start, e);
+        }
+    }
+    
+    /**
+     * Read the sheet of a file.
+     * The read is cancellable, so the reads still running when the batch is abandoned stop at the next row.
+     * 
+     * @throws InterruptedException If the read saw the interrupt of shutdownNow, which is not a failure of the file
+     */
+    private List<Map<String, Object>> read(String filePath) throws IOException, InterruptedException {
+        try {
+            return AsyncRead.runCancellable(() -> ExcelReaderUtil.readSheetAsMap(filePath, sheetName, options));
+        } catch (CancellationException e) {
+            InterruptedException interrupted = new InterruptedException("Batch read interrupted");
+            interrupted.initCause(e);
+            throw interrupted;
+        }
+    }
+    
+    /**
+     * @return Rough heap the workbook takes once loaded, in bytes; detecting the format rejects unsupported files early
+     */
+    private static long estimateHeap(String filePath, long bytes) throws IOException {
+        switch (FileFormat.detect(filePath)) {
+            case XLSX:
+                return bytes * XLSX_HEAP_PER_FILE_BYTE;
+            case XLS:
+                return bytes * XLS_HEAP_PER_FILE_BYTE;
+            default:
+                return bytes * CSV_HEAP_PER_FILE_BYTE;
+        }
+    }
+    
+    /**
+     * Outcome of reading one file
+     */
+    public static final class FileResult {
+        
+        private final String filePath;
+        private final long bytes;
+        private final int rows;
+        private final long waitNanos;
+        private final long durationNanos;
+        private final Exception failure;
+        
+        FileResult(String filePath, long bytes, int rows, long waitNanos, long durationNanos, Exception failure) {
+            this.filePath = filePath;
+            this.bytes = bytes;
+            this.rows = rows;
+            this.waitNanos = waitNanos;
+            this.durationNanos = durationNanos;
+            this.failure = failure;
+        }
+        
+        /**
+         * @return Path of the file
+         */
+        public String getFilePath() {
+            return filePath;
+        }
+        
+        /**
+         * @return Size of the file in bytes
+         */
+        public long getBytes() {
+            return bytes;
+        }
+        
+        /**
+         * @return Number of rows read, 0 if the file failed
+         */
+        public int getRows() {
+            return rows;
+        }
+        
+        /**
+         * @return Time spent waiting for the heap budget before the file was read
+         */
+        public long getWaitNanos() {
+            return waitNanos;
+        }
+        
+        /**
+         * @return Time spent reading the file and running the handler, excluding the wait for the heap budget
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+        
+        /**
+         * @return Rows read per second
+         */
+        public double getRowsPerSecond() {
+            return durationNanos > 0 ? rows * 1e9 / durationNanos : 0;
+        }
+        
+        /**
+         * @return Bytes of file read per second
+         */
+        public double getBytesPerSecond() {
+            return durationNanos > 0 ? bytes * 1e9 / durationNanos : 0;
+        }
+        
+        /**
+         * @return true if the file was read and handled
+         */
+        public boolean isSuccess() {
+            return failure == null;
+        }
+        
+        /**
+         * @return Exception the read or the handler threw, or null if the file succeeded
+         */
+        public Exception getFailure() {
+            return failure;
+        }
+        
+        @Override
+        public String toString() {
+            if (failure != null) {
+                return filePath + ": FAILED " + failure;
+            }
+            return String.format("%s: %d rows in %d ms (%.0f rows/s, %.1f MB/s), waited %d ms for heap budget", filePath, rows,
+                    durationNanos / 1_000_000, getRowsPerSecond(), getBytesPerSecond() / (1024 * 1024), waitNanos / 1_000_000);
+        }
+    }
+    
+    /**
+     * Outcome of a batch
+     */
+    public static final class Report {
+        
+        private final List<FileResult> results;
+        private final long durationNanos;
+        
+        Report(List<FileResult> results, long durationNanos) {
+            this.results = Collections.unmodifiableList(results);
+            this.durationNanos = durationNanos;
+        }
+        
+        /**
+         * @return Result of each file
+         */
+        public List<FileResult> getResults() {
+            return results;
+        }
+        
+        /**
+         * @return Results of the files that failed
+         */
+        public List<FileResult> getFailures() {
+            List<FileResult> failures = new ArrayList<>();
+            for (FileResult result : results) {
+                if (!result.isSuccess()) {
+                    failures.add(result);
+                }
+            }
+            return failures;
+        }
+        
+        /**
+         * @return Total rows read from the files that succeeded
+         */
+        public long getRows() {
+            long rows = 0;
+            for (FileResult result : results) {
+                rows += result.getRows();
+            }
+            return rows;
+        }
+        
+        /**
+         * @return Wall-clock time of the whole batch
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%d files, %d failed, %d rows in %d ms", results.size(), getFailures().size(), getRows(),
+                    durationNanos / 1_000_000);
+        }
+    }
+    
+    /**
+     * Read a sheet from the files of a directory and print the throughput of each file.
+     * Usage: BatchReader directory sheetName [glob] [threads]
+     * 
+     * @param args Command line arguments
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchReader directory sheetName [glob] [threads]");
+            System.exit(2);
+        }
+        
+        BatchReader reader = new BatchReader(args[1]);
+        if (args.length > 3) {
+            reader.threads(Integer.parseInt(args[3]));
+        }
+        Report report = reader.run(args[0], args.length > 2 ? args[2] : "*", (filePath, rows) -> {
+        });
+        
+        for (FileResult result : report.getResults()) {
+            System.out.println(result);
+        }
+        System.out.println(report);
+        if (!report.getFailures().isEmpty()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,286 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Imports a large sheet in batches and records each committed batch in a small state file, so that an import stopped
+ * part-way, e.g. by a failing downstream write, resumes after the last committed row instead of starting over.
+ * Rows up to the checkpoint are skipped without decoding their cells. For .xlsx files the state file also keeps
+ * the zip entry of the sheet and an offset into its XML, so a rerun inflates the sheet up to that offset and only parses from there.
+ * <pre>
+ * long rows = new CheckpointedImport("/data/orders.xlsx", "Orders", "/var/lib/import/orders.checkpoint")
+ *         .batchSize(5_000)
+ *         .run((batch, lastRowIndex) -&gt; repository.saveAll(batch));
+ * </pre>
+ * A checkpoint is tied to the size and modification time of the file, so it is never applied to another version of it.
+ */
+public class CheckpointedImport {
+    
+    /**
+     * Receives the rows of the sheet one batch at a time, in sheet order
+     */
+    public interface BatchHandler {
+        
+        /**
+         * Commit a batch of rows downstream. Once this returns, the batch is recorded in the state file
+         * and no later run delivers it again; if it throws, the next run starts with the same batch.
+         * 
+         * @param rows Cell values of each row, in the same form readSheet returns them
+         * @param lastRowIndex Index of the last row of the batch in the sheet (0-based)
+         * @throws Exception If the rows could not be committed
+         */
+        void commit(List<List<Object>> rows, int lastRowIndex) throws Exception;
+    }
+    
+    private final String filePath;
+    private final String sheetName;
+    private final Path stateFile;
+    private int batchSize = 10_000;
+    private ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions();
+    
+    /**
+     * @param filePath Path to the Excel or CSV file
+     * @param sheetName Name of the sheet to import
+     * @param stateFile Path of the file the checkpoint is kept in; created by the first committed batch
+     */
+    public CheckpointedImport(String filePath, String sheetName, String stateFile) {
+        this.filePath = filePath;
+        this.sheetName = sheetName;
+        this.stateFile = Paths.get(stateFile);
+    }
+    
+    /**
+     * Commit this many rows at a time, 10,000 by default. Smaller batches lose less work when an import stops,
+     * at the cost of a state file write per batch.
+     * 
+     * @param batchSize Number of rows per batch
+     * @return This import
+     */
+    public CheckpointedImport batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+    
+    /**
+     * Read the sheet with these options. Only the shared strings mode and string deduplication apply:
+     * rows are committed by their index in the sheet, so column selection and filters are not supported.
+     * 
+     * @param options Options controlling how cells are read
+     * @return This import
+     */
+    public CheckpointedImport options(ExcelReaderUtil.ReadOptions options) {
+        if (options.hasSelectedColumns() || options.hasFilters()) {
+            throw new IllegalArgumentException("Column selection and filters are not supported by checkpointed imports");
+        }
+        this.options = options;
+        return this;
+    }
+    
+    /**
+     * Import the rows after the checkpoint, or the whole sheet if there is none yet.
+     * An import that already finished commits nothing.
+     * 
+     * @param handler Callback committing each batch
+     * @return Number of rows committed by this run
+     * @throws IOException If there's an issue reading the file or the state file, or the handler failed
+     * @throws IllegalStateException If the checkpoint was recorded for another sheet or another version of the file
+     */
+    public long run(BatchHandler handler) throws IOException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(filePath);
+        }
+        Checkpoint checkpoint = Checkpoint.load(stateFile);
+        if (checkpoint == null) {
+            checkpoint = new Checkpoint(sheetName, file.length(), file.lastModified());
+        } else if (!checkpoint.matches(sheetName, file.length(), file.lastModified())) {
+            throw new IllegalStateException("Checkpoint " + stateFile + " was recorded for another sheet or another version of "
+                    + filePath + "; reset it to start over");
+        }
+        if (checkpoint.complete) {
+            return 0;
+        }
+        
+        long committed = 0;
+        try (ExcelReaderUtil.RowCursor cursor = ExcelReaderUtil.openCursor(filePath, sheetName, options,
+                checkpoint.sheetPart, checkpoint.rowOffset, checkpoint.rowIndex)) {
+            if (checkpoint.rowIndex >= 0) {
+                skipTo(cursor, checkpoint.rowIndex);
+            }
+            
+            List<List<Object>> batch = new ArrayList<>(batchSize);
+            int lastRowIndex = -1;
+            long lastRowOffset = -1;
+            while (true) {
+                ExcelReaderUtil.checkInterrupted();
+                boolean hasRow = cursor.next();
+                if (hasRow) {
+                    batch.add(cursor.getRowData());
+                    lastRowIndex = cursor.getRowIndex();
+                    lastRowOffset = cursor.getRowOffset();
+                }
+                if (batch.size() == batchSize || (!hasRow && !batch.isEmpty())) {
+                    commit(handler, batch, lastRowIndex, checkpoint);
+                    committed += batch.size();
+                    checkpoint.rowIndex = lastRowIndex;
+                    checkpoint.sheetPart = cursor.getSheetPart();
+                    checkpoint.rowOffset = lastRowOffset;
+                    checkpoint.store(stateFile);
+                    batch = new ArrayList<>(batchSize);
+                }
+                if (!hasRow) {
+                    break;
+                }
+            }
+        }
+        
+        checkpoint.complete = true;
+        checkpoint.store(stateFile);
+        return committed;
+    }
+    
+    private void commit(BatchHandler handler, List<List<Object>> batch, int lastRowIndex, Checkpoint checkpoint) throws IOException {
+        try {
+            handler.commit(batch, lastRowIndex);
+        } catch (Exception e) {
+            throw new IOException("Import of " + filePath + " stopped after row " + checkpoint.rowIndex
+                    + " when committing the batch ending at row " + lastRowIndex + "; run it again to resume", e);
+        }
+    }
+    
+    /**
+     * Move the cursor onto the last committed row, skipping the rows before it undecoded
+     */
+    private void skipTo(ExcelReaderUtil.RowCursor cursor, int rowIndex) throws IOException {
+        do {
+            ExcelReaderUtil.checkInterrupted();
+            if (!cursor.skipRow()) {
+                break;
+            }
+        } while (cursor.getRowIndex() < rowIndex);
+        if (cursor.getRowIndex() != rowIndex) {
+            throw new IllegalStateException("Checkpoint row " + rowIndex + " not found in sheet: " + sheetName);
+        }
+    }
+    
+    /**
+     * @return Index of the last committed row (0-based), or -1 if no batch was committed yet
+     * @throws IOException If there's an issue reading the state file
+     */
+    public int getLastCommittedRow() throws IOException {
+        Checkpoint checkpoint = Checkpoint.load(stateFile);
+        return checkpoint != null ? checkpoint.rowIndex : -1;
+    }
+    
+    /**
+     * @return true if every row of the sheet was committed
+     * @throws IOException If there's an issue reading the state file
+     */
+    public boolean isComplete() throws IOException {
+        Checkpoint checkpoint = Checkpoint.load(stateFile);
+        return checkpoint != null && checkpoint.complete;
+    }
+    
+    /**
+     * Delete the checkpoint, so that the next run imports the sheet from the first row
+     * 
+     * @throws IOException If the state file cannot be deleted
+     */
+    public void reset() throws IOException {
+        Files.deleteIfExists(stateFile);
+    }
+    
+    /**
+     * Progress of an import as kept in the state file
+     */
+    private static final class Checkpoint {
+        
+        private final String sheetName;
+        private final long fileSize;
+        private final long fileModified;
+        private int rowIndex = -1;
+        private String sheetPart;
+        private long rowOffset = -1;
+        private boolean complete;
+        
+        Checkpoint(String sheetName, long fileSize, long fileModified) {
+            this.sheetName = sheetName;
+            this.fileSize = fileSize;
+            this.fileModified = fileModified;
+        }
+        
+        boolean matches(String sheetName, long fileSize, long fileModified) {
+            return this.sheetName.equalsIgnoreCase(sheetName) && this.fileSize == fileSize && this.fileModified == fileModified;
+        }
+        
+        /**
+         * @return Checkpoint kept in the state file, or null if there is none
+         */
+        static Checkpoint load(Path stateFile) throws IOException {
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(stateFile)) {
+                properties.load(in);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            
+            try {
+                Checkpoint checkpoint = new Checkpoint(required(properties, "sheet", stateFile),
+                        Long.parseLong(required(properties, "fileSize", stateFile)),
+                        Long.parseLong(required(properties, "fileModified", stateFile)));
+                checkpoint.rowIndex = Integer.parseInt(required(properties, "row", stateFile));
+                checkpoint.sheetPart = properties.getProperty("sheetPart");
+                checkpoint.rowOffset = Long.parseLong(properties.getProperty("rowOffset", "-1"));
+                checkpoint.complete = Boolean.parseBoolean(properties.getProperty("complete"));
+                return checkpoint;
+            } catch (NumberFormatException e) {
+                throw new IOException("Invalid checkpoint: " + stateFile, e);
+            }
+        }
+        
+        private static String required(Properties properties, String key, Path stateFile) throws IOException {
+            String value = properties.getProperty(key);
+            if (value == null) {
+                throw new IOException("Invalid checkpoint, " + key + " is missing: " + stateFile);
+            }
+            return value;
+        }
+        
+        /**
+         * Replace the state file in one step, so that a crash leaves either the previous checkpoint or this one
+         */
+        void store(Path stateFile) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("sheet", sheetName);
+            properties.setProperty("fileSize", Long.toString(fileSize));
+            properties.setProperty("fileModified", Long.toString(fileModified));
+            properties.setProperty("row", Integer.toString(rowIndex));
+            if (sheetPart != null && rowOffset >= 0) {
+                properties.setProperty("sheetPart", sheetPart);
+                properties.setProperty("rowOffset", Long.toString(rowOffset));
+            }
+            properties.setProperty("complete", Boolean.toString(complete));
+            
+            Path temp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp.toFile())) {
+                properties.store(out, "CheckpointedImport state, last committed row (0-based)");
+                // The checkpoint must be on disk before it replaces the previous one
+                out.getFD().sync();
+            }
+            Files.move(temp, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
@@ -0,0 +1,439 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-oriented, typed copy of a sheet, produced by ExcelReaderUtil.readSheetColumnar.
+ * Each column infers a single type and stores its values unboxed: numbers in a double[],
+ * booleans in a BitSet, dates as epoch milliseconds in a long[], and strings as dictionary codes in an int[].
+ * Columns holding more than one type fall back to an Object[].
+ * Formula cells hold the result cached in the file; they are not evaluated as readSheet does.
+ */
+public final class ColumnarSheet {
+    
+    /**
+     * Type inferred for a column from its non-null values
+     */
+    public enum ColumnType {
+        /** No non-null values */
+        EMPTY,
+        NUMERIC,
+        BOOLEAN,
+        DATE,
+        STRING,
+        /** More than one value type; stored as objects */
+        MIXED
+    }
+    
+    private final List<Object> headerRow;
+    private final int[] headerColumns;
+    private final int rowCount;
+    private final Column[] columns;
+    
+    private ColumnarSheet(List<Object> headerRow, int[] headerColumns, int rowCount, Column[] columns) {
+        this.headerRow = headerRow;
+        this.headerColumns = headerColumns;
+        this.rowCount = rowCount;
+        this.columns = columns;
+    }
+    
+    /**
+     * @param column Column index (0-based)
+     * @return Header of the column, or null if the sheet was read without a header row or the column has none
+     */
+    public String getColumnName(int column) {
+        if (headerRow != null) {
+            for (int i = 0; i < headerColumns.length; i++) {
+                if (headerColumns[i] == column) {
+                    Object header = headerRow.get(i);
+                    return header != null ? header.toString() : null;
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @param columnName Header of the column
+     * @return Index of the first column with this header, or -1 if there is none
+     */
+    public int getColumnIndex(String columnName) {
+        if (headerRow != null) {
+            for (int i = 0; i < headerColumns.length; i++) {
+                Object header = headerRow.get(i);
+                if (header != null && header.toString().equals(columnName)) {
+                    return headerColumns[i];
+                }
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return Number of data rows, including rows without cells but excluding the header row
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+    
+    /**
+     * @return Number of columns, i.e. the highest column index with a header or a data cell + 1
+     */
+    public int getColumnCount() {
+        return columns.length;
+    }
+    
+    /**
+     * @param column Column index (0-based)
+     * @return Type inferred for the column
+     */
+    public ColumnType getColumnType(int column) {
+        return columns[column].type;
+    }
+    
+    /**
+     * @param row Row index (0-based)
+     * @param column Column index (0-based)
+     * @return true if the sheet has a cell at this position, even a blank one
+     */
+    public boolean hasCell(int row, int column) {
+        return columns[column].present.get(row);
+    }
+    
+    /**
+     * @param row Row index (0-based)
+     * @param column Column index (0-based)
+     * @return true if there is no cell or the cell is blank
+     */
+    public boolean isNull(int row, int column) {
+        return !columns[column].nonNull.get(row);
+    }
+    
+    /**
+     * Get a numeric value without boxing
+     * 
+     * @param row Row index (0-based)
+     * @param column Index of a NUMERIC column
+     * @return Cell value, or NaN if the cell is null
+     */
+    public double getDouble(int row, int column) {
+        Column col = requireType(column, ColumnType.NUMERIC);
+        return col.nonNull.get(row) ? col.doubles[row] : Double.NaN;
+    }
+    
+    /**
+     * Get a boolean value without boxing
+     * 
+     * @param row Row index (0-based)
+     * @param column Index of a BOOLEAN column
+     * @return Cell value, or false if the cell is null
+     */
+    public boolean getBoolean(int row, int column) {
+        return requireType(column, ColumnType.BOOLEAN).booleans.get(row);
+    }
+    
+    /**
+     * Get a date value as epoch milliseconds without boxing
+     * 
+     * @param row Row index (0-based)
+     * @param column Index of a DATE column
+     * @return Cell value in epoch milliseconds, or Long.MIN_VALUE if the cell is null
+     */
+    public long getDateMillis(int row, int column) {
+        Column col = requireType(column, ColumnType.DATE);
+        return col.nonNull.get(row) ? col.longs[row] : Long.MIN_VALUE;
+    }
+    
+    /**
+     * Get the dictionary code of a string value
+     * 
+     * @param row Row index (0-based)
+     * @param column Index of a STRING column
+     * @return Index into getDictionary(column), or -1 if the cell is null
+     */
+    public int getStringCode(int row, int column) {
+        Column col = requireType(column, ColumnType.STRING);
+        return col.nonNull.get(row) ? col.codes[row] : -1;
+    }
+    
+    /**
+     * @param row Row index (0-based)
+     * @param column Index of a STRING column
+     * @return Cell value, or null if the cell is null
+     */
+    public String getString(int row, int column) {
+        int code = getStringCode(row, column);
+        return code >= 0 ? columns[column].dictionary[code] : null;
+    }
+    
+    /**
+     * @param column Index of a STRING column
+     * @return Distinct strings of the column, indexed by dictionary code
+     */
+    public List<String> getDictionary(int column) {
+        return Arrays.asList(requireType(column, ColumnType.STRING).dictionary.clone());
+    }
+    
+    /**
+     * Get a value in the same boxed form readSheet returns
+     * 
+     * @param row Row index (0-based)
+     * @param column Column index (0-based)
+     * @return Cell value, or null if there is no cell or it is blank
+     */
+    public Object getValue(int row, int column) {
+        return columns[column].get(row);
+    }
+    
+    /**
+     * Convert back to the shape returned by readSheet, with only the cells present in the sheet in each row.
+     * The header row, if any, is included as the first row. Formula cells hold the results cached in the file,
+     * so they match readSheet only if the file was saved with its formulas calculated.
+     * 
+     * @return List of rows, where each row is a list of cell values
+     */
+    public List<List<Object>> toRows() {
+        List<List<Object>> sheetData = new ArrayList<>(rowCount + 1);
+        if (headerRow != null) {
+            sheetData.add(new ArrayList<>(headerRow));
+        }
+        
+        for (int row = 0; row < rowCount; row++) {
+            List<Object> rowData = new ArrayList<>();
+            for (Column column : columns) {
+                if (column.present.get(row)) {
+                    rowData.add(column.get(row));
+                }
+            }
+            sheetData.add(rowData);
+        }
+        
+        return sheetData;
+    }
+    
+    private Column requireType(int column, ColumnType type) {
+        Column col = columns[column];
+        if (col.type != type) {
+            throw new IllegalStateException("Column " + column + " is " + col.type + ", not " + type);
+        }
+        return col;
+    }
+    
+    /**
+     * Values of one column; the typed arrays are only allocated for the column's type
+     */
+    private static final class Column {
+        
+        private ColumnType type = ColumnType.EMPTY;
+        private final BitSet present = new BitSet();
+        private final BitSet nonNull = new BitSet();
+        private double[] doubles;
+        private long[] longs;
+        private BitSet booleans;
+        private int[] codes;
+        private String[] dictionary;
+        private Object[] objects;
+        
+        // Only used while building
+        private Map<String, Integer> dictionaryCodes;
+        private List<String> dictionaryValues;
+        
+        Object get(int row) {
+            if (!nonNull.get(row)) {
+                return null;
+            }
+            switch (type) {
+                case NUMERIC:
+                    return doubles[row];
+                case BOOLEAN:
+                    return booleans.get(row);
+                case DATE:
+                    return new Date(longs[row]);
+                case STRING:
+                    return dictionary != null ? dictionary[codes[row]] : dictionaryValues.get(codes[row]);
+                default:
+                    return objects[row];
+            }
+        }
+        
+        void set(int row, Object value, int capacity) {
+            present.set(row);
+            if (value == null) {
+                return;
+            }
+            
+            ColumnType valueType = typeOf(value);
+            if (type == ColumnType.EMPTY) {
+                allocate(valueType, capacity);
+            } else if (type != valueType && type != ColumnType.MIXED) {
+                toMixed(capacity);
+            }
+            ensureCapacity(row + 1);
+            
+            nonNull.set(row);
+            switch (type) {
+                case NUMERIC:
+                    doubles[row] = (Double) value;
+                    break;
+                case BOOLEAN:
+                    booleans.set(row, (Boolean) value);
+                    break;
+                case DATE:
+                    longs[row] = ((Date) value).getTime();
+                    break;
+                case STRING:
+                    codes[row] = dictionaryCodes.computeIfAbsent((String) value, key -> {
+                        dictionaryValues.add(key);
+                        return dictionaryValues.size() - 1;
+                    });
+                    break;
+                default:
+                    objects[row] = value;
+                    break;
+            }
+        }
+        
+        private void allocate(ColumnType valueType, int capacity) {
+            type = valueType;
+            switch (valueType) {
+                case NUMERIC:
+                    doubles = new double[capacity];
+                    break;
+                case BOOLEAN:
+                    booleans = new BitSet();
+                    break;
+                case DATE:
+                    longs = new long[capacity];
+                    break;
+                case STRING:
+                    codes = new int[capacity];
+                    dictionaryCodes = new HashMap<>();
+                    dictionaryValues = new ArrayList<>();
+                    break;
+                default:
+                    objects = new Object[capacity];
+                    break;
+            }
+        }
+        
+        private void toMixed(int capacity) {
+            Object[] values = new Object[Math.max(capacity, nonNull.length())];
+            for (int row = nonNull.nextSetBit(0); row >= 0; row = nonNull.nextSetBit(row + 1)) {
+                values[row] = get(row);
+            }
+            type = ColumnType.MIXED;
+            objects = values;
+            doubles = null;
+            longs = null;
+            booleans = null;
+            codes = null;
+            dictionaryCodes = null;
+            dictionaryValues = null;
+        }
+        
+        private void ensureCapacity(int size) {
+            if (doubles != null && doubles.length < size) {
+                doubles = Arrays.copyOf(doubles, grow(doubles.length, size));
+            } else if (longs != null && longs.length < size) {
+                longs = Arrays.copyOf(longs, grow(longs.length, size));
+            } else if (codes != null && codes.length < size) {
+                codes = Arrays.copyOf(codes, grow(codes.length, size));
+            } else if (objects != null && objects.length < size) {
+                objects = Arrays.copyOf(objects, grow(objects.length, size));
+            }
+        }
+        
+        void trim(int rowCount) {
+            if (doubles != null) {
+                doubles = Arrays.copyOf(doubles, rowCount);
+            } else if (longs != null) {
+                longs = Arrays.copyOf(longs, rowCount);
+            } else if (codes != null) {
+                codes = Arrays.copyOf(codes, rowCount);
+                dictionary = dictionaryValues.toArray(new String[0]);
+                dictionaryCodes = null;
+                dictionaryValues = null;
+            } else if (objects != null) {
+                objects = Arrays.copyOf(objects, rowCount);
+            }
+        }
+        
+        private static int grow(int length, int size) {
+            return Math.max(size, length + (length >> 1) + 16);
+        }
+        
+        private static ColumnType typeOf(Object value) {
+            if (value instanceof Double) {
+                return ColumnType.NUMERIC;
+            } else if (value instanceof Boolean) {
+                return ColumnType.BOOLEAN;
+            } else if (value instanceof Date) {
+                return ColumnType.DATE;
+            } else if (value instanceof String) {
+                return ColumnType.STRING;
+            }
+            return ColumnType.MIXED;
+        }
+    }
+    
+    /**
+     * Collects rows into columns, one row at a time
+     */
+    static final class Builder implements ExcelReaderUtil.CellRowHandler {
+        
+        private final List<Column> columns = new ArrayList<>();
+        private boolean expectHeaderRow;
+        private List<Object> headerRow;
+        private int[] headerColumns;
+        private int rowCount;
+        
+        /**
+         * @param hasHeaderRow Whether row 0 holds column headers rather than data
+         */
+        Builder(boolean hasHeaderRow) {
+            this.expectHeaderRow = hasHeaderRow;
+        }
+        
+        @Override
+        public void handleRow(int rowIndex, int[] columnIndexes, List<Object> rowData) {
+            if (expectHeaderRow) {
+                expectHeaderRow = false;
+                // Only row 0 holds headers; in a sheet without row 0 the first row read is data
+                if (rowIndex == 0) {
+                    headerRow = new ArrayList<>(rowData);
+                    headerColumns = Arrays.copyOf(columnIndexes, rowData.size());
+                    // A header without data below it still gets a column, of type EMPTY
+                    for (int column : headerColumns) {
+                        ensureColumns(column);
+                    }
+                    return;
+                }
+            }
+            
+            int row = rowCount++;
+            for (int i = 0; i < rowData.size(); i++) {
+                int column = columnIndexes[i];
+                ensureColumns(column);
+                columns.get(column).set(row, rowData.get(i), Math.max(16, rowCount));
+            }
+        }
+        
+        private void ensureColumns(int column) {
+            while (columns.size() <= column) {
+                columns.add(new Column());
+            }
+        }
+        
+        ColumnarSheet build() {
+            Column[] built = columns.toArray(new Column[0]);
+            for (Column column : built) {
+                column.trim(rowCount);
+            }
+            return new ColumnarSheet(headerRow, headerColumns, rowCount, built);
+        }
+    }
+}
@@ -0,0 +1,466 @@
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Reader for CSV files, presenting the file as a workbook with a single sheet named after the file (like Excel does).
+ * Records are parsed one at a time, RFC 4180 style: fields may be quoted, with "" for a quote, and quoted fields may span lines.
+ * The file is read as UTF-8, and the delimiter (comma, semicolon or tab) is taken from the first line.
+ * Numbers become Double and TRUE/FALSE become Boolean, as when Excel opens the file; empty fields are missing cells
+ * and records without any value are skipped, like empty rows.
+ */
+final class CsvReader implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char[] DELIMITERS = {',', ';', '\t'};
+    
+    /** Marks a buffered cell whose value has not been decoded yet */
+    private static final Object UNDECODED = new Object();
+    
+    private final File file;
+    private final String sheetName;
+    
+    /**
+     * Open a CSV file
+     * 
+     * @param filePath Path to the CSV file
+     */
+    CsvReader(String filePath) {
+        this.file = new File(filePath);
+        String name = file.getName();
+        int extension = name.lastIndexOf('.');
+        this.sheetName = WorkbookUtil.createSafeSheetName(extension > 0 ? name.substring(0, extension) : name);
+    }
+    
+    /**
+     * Stream the sheet by name (case-insensitive, like Workbook.getSheet)
+     * 
+     * @param sheetName Name of the sheet to read, i.e. the file name without its extension
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheet(String sheetName, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursor(sheetName)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Stream the sheet by index
+     * 
+     * @param sheetIndex Index of the sheet to read, which can only be 0
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheetAt(int sheetIndex, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursorAt(sheetIndex)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Open a pull cursor over the records of the file
+     * 
+     * @param sheetName Name of the sheet to read, i.e. the file name without its extension
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursor(String sheetName) throws IOException {
+        if (!this.sheetName.equalsIgnoreCase(sheetName)) {
+            throw new IllegalArgumentException("Sheet not found: " + sheetName);
+        }
+        return new RecordCursor();
+    }
+    
+    /**
+     * Open a pull cursor over the records of the file by sheet index
+     * 
+     * @param sheetIndex Index of the sheet to read, which can only be 0
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursorAt(int sheetIndex) throws IOException {
+        if (sheetIndex != 0) {
+            throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range (0..0)");
+        }
+        return new RecordCursor();
+    }
+    
+    /**
+     * Get the number of rows in the sheet (last row index + 1), scanning the records without decoding any field
+     * 
+     * @param sheetName Name of the sheet, i.e. the file name without its extension
+     * @return Number of rows
+     * @throws IOException If there's an issue reading the file
+     */
+    int getRowCount(String sheetName) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursor(sheetName)) {
+            return countRows(cursor);
+        }
+    }
+    
+    /**
+     * Get the number of rows in the sheet by index (last row index + 1)
+     * 
+     * @param sheetIndex Index of the sheet, which can only be 0
+     * @return Number of rows
+     * @throws IOException If there's an issue reading the file
+     */
+    int getRowCountAt(int sheetIndex) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursorAt(sheetIndex)) {
+            return countRows(cursor);
+        }
+    }
+    
+    /**
+     * Load the file into an in-memory workbook, for the read methods that work on a Workbook
+     * 
+     * @return Workbook with a single sheet holding the decoded values
+     * @throws IOException If there's an issue reading the file
+     */
+    Workbook toWorkbook() throws IOException {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        try (ExcelReaderUtil.RowCursor cursor = openCursorAt(0)) {
+            Sheet sheet = workbook.createSheet(sheetName);
+            while (cursor.next()) {
+                ExcelReaderUtil.checkInterrupted();
+                Row row = sheet.createRow(cursor.getRowIndex());
+                int[] columnIndexes = cursor.getColumnIndexes();
+                for (int i = 0; i < cursor.getCellCount(); i++) {
+                    Object value = cursor.getCellValue(i);
+                    if (value instanceof Double) {
+                        row.createCell(columnIndexes[i]).setCellValue((Double) value);
+                    } else if (value instanceof Boolean) {
+                        row.createCell(columnIndexes[i]).setCellValue((Boolean) value);
+                    } else {
+                        row.createCell(columnIndexes[i]).setCellValue((String) value);
+                    }
+                }
+            }
+            return workbook;
+        } catch (IOException | RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+    }
+    
+    @Override
+    public void close() {
+        // Each cursor opens and closes the file itself
+    }
+    
+    private static void pushRows(ExcelReaderUtil.RowCursor cursor, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        while (cursor.next()) {
+            handler.handleRow(cursor.getRowIndex(), cursor.getColumnIndexes(), cursor.getRowData());
+        }
+    }
+    
+    private static int countRows(ExcelReaderUtil.RowCursor cursor) throws IOException {
+        int rowCount = 0;
+        while (cursor.skipRow()) {
+            rowCount = cursor.getRowIndex() + 1;
+        }
+        return rowCount;
+    }
+    
+    /**
+     * Convert a field into the value Excel would show for it: a number, a boolean or the text itself
+     */
+    private static Object decodeField(String field, StringDictionary strings) {
+        if (isNumber(field)) {
+            return Double.parseDouble(field);
+        } else if (field.equalsIgnoreCase("TRUE")) {
+            return Boolean.TRUE;
+        } else if (field.equalsIgnoreCase("FALSE")) {
+            return Boolean.FALSE;
+        }
+        return strings != null ? strings.intern(field) : field;
+    }
+    
+    /**
+     * @return true for plain decimal numbers: an optional sign, digits with an optional fraction, and an optional exponent
+     */
+    private static boolean isNumber(String field) {
+        int i = 0;
+        int length = field.length();
+        if (i < length && (field.charAt(i) == '-' || field.charAt(i) == '+')) {
+            i++;
+        }
+        int digits = 0;
+        while (i < length && Character.isDigit(field.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && field.charAt(i) == '.') {
+            i++;
+            while (i < length && Character.isDigit(field.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < length && (field.charAt(i) == 'e' || field.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (field.charAt(i) == '-' || field.charAt(i) == '+')) {
+                i++;
+            }
+            int exponentDigits = 0;
+            while (i < length && Character.isDigit(field.charAt(i))) {
+                i++;
+                exponentDigits++;
+            }
+            if (exponentDigits == 0) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+    
+    /**
+     * Cursor parsing one record per row. Fields are kept as text until a value is requested,
+     * and skipped rows and unselected columns are scanned without building their text at all.
+     */
+    private final class RecordCursor implements ExcelReaderUtil.RowCursor {
+        
+        private final Reader reader;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private final char delimiter;
+        private final StringBuilder field = new StringBuilder();
+        
+        private int rowIndex = -1;
+        private boolean done;
+        private int[] columnIndexes = new int[16];
+        private String[] fields = new String[16];
+        private List<Object> rowData = new ArrayList<>();
+        private BitSet selectedColumns;
+        private StringDictionary strings;
+        
+        RecordCursor() throws IOException {
+            this.reader = new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8);
+            try {
+                fill();
+                if (limit > 0 && buffer[0] == '\uFEFF') {
+                    position++;
+                }
+                this.delimiter = detectDelimiter();
+            } catch (IOException | RuntimeException e) {
+                reader.close();
+                throw e;
+            }
+        }
+        
+        /**
+         * @return The delimiter found most often outside quotes on the first line, or a comma
+         */
+        private char detectDelimiter() {
+            int[] counts = new int[DELIMITERS.length];
+            boolean quoted = false;
+            for (int i = position; i < limit; i++) {
+                char c = buffer[i];
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && (c == '\n' || c == '\r')) {
+                    break;
+                } else if (!quoted) {
+                    for (int d = 0; d < DELIMITERS.length; d++) {
+                        if (c == DELIMITERS[d]) {
+                            counts[d]++;
+                        }
+                    }
+                }
+            }
+            int best = 0;
+            for (int d = 1; d < DELIMITERS.length; d++) {
+                if (counts[d] > counts[best]) {
+                    best = d;
+                }
+            }
+            return DELIMITERS[best];
+        }
+        
+        private boolean fill() throws IOException {
+            int read = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        }
+        
+        /**
+         * @return Next character, or -1 at the end of the file
+         */
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++];
+        }
+        
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position];
+        }
+        
+        @Override
+        public boolean next() throws IOException {
+            return readRecord(true);
+        }
+        
+        @Override
+        public boolean skipRow() throws IOException {
+            return readRecord(false);
+        }
+        
+        /**
+         * Parse records until one has a value
+         * 
+         * @param decode false to only find the end of the record, without keeping its fields
+         * @return true if there is a row, false at the end of the file
+         */
+        private boolean readRecord(boolean decode) throws IOException {
+            rowData = new ArrayList<>();
+            while (!done) {
+                rowIndex++;
+                if (parseRecord(decode)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        
+        /**
+         * @return true if the record has at least one non-empty field
+         */
+        private boolean parseRecord(boolean decode) throws IOException {
+            int column = 0;
+            boolean hasValue = false;
+            while (true) {
+                boolean keep = decode && (selectedColumns == null || selectedColumns.get(column));
+                field.setLength(0);
+                int length = 0;
+                int c = read();
+                
+                if (c == '"') {
+                    while ((c = read()) != -1) {
+                        if (c == '"') {
+                            if (peek() != '"') {
+                                break;
+                            }
+                            read();
+                        }
+                        length++;
+                        if (keep) {
+                            field.append((char) c);
+                        }
+                    }
+                    c = read();
+                }
+                // Unquoted text, or text following the closing quote
+                while (c != -1 && c != delimiter && c != '\n' && c != '\r') {
+                    length++;
+                    if (keep) {
+                        field.append((char) c);
+                    }
+                    c = read();
+                }
+                
+                if (length > 0) {
+                    hasValue = true;
+                    if (keep) {
+                        addField(column, field.toString());
+                    }
+                }
+                
+                if (c == delimiter) {
+                    column++;
+                    continue;
+                }
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c == -1) {
+                    done = true;
+                }
+                return hasValue;
+            }
+        }
+        
+        private void addField(int column, String text) {
+            int size = rowData.size();
+            if (size == columnIndexes.length) {
+                columnIndexes = Arrays.copyOf(columnIndexes, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            columnIndexes[size] = column;
+            fields[size] = text;
+            rowData.add(UNDECODED);
+        }
+        
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+        
+        @Override
+        public int[] getColumnIndexes() {
+            return columnIndexes;
+        }
+        
+        @Override
+        public int getCellCount() {
+            return rowData.size();
+        }
+        
+        @Override
+        public Object getCellValue(int cell) {
+            Object value = rowData.get(cell);
+            if (value == UNDECODED) {
+                value = decodeField(fields[cell], strings);
+                rowData.set(cell, value);
+            }
+            return value;
+        }
+        
+        @Override
+        public List<Object> getRowData() {
+            for (int cell = 0; cell < rowData.size(); cell++) {
+                getCellValue(cell);
+            }
+            return rowData;
+        }
+        
+        @Override
+        public void selectColumns(BitSet columns) {
+            selectedColumns = columns;
+        }
+        
+        @Override
+        public void deduplicateStrings(StringDictionary strings) {
+            this.strings = strings;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maps a field or record component to a header of the sheet read by ExcelReaderUtil.readSheetAs.
+ * Fields of a class are only mapped when annotated; record components are mapped by name unless annotated.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.RECORD_COMPONENT})
+public @interface ExcelColumn {
+    
+    /**
+     * @return Header of the column, as it appears in the first row of the sheet
+     */
+    String value();
+}
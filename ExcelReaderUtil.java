@@ -1,21 +1,98 @@
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
 
+import java.io.Closeable;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Utility class for reading Excel files (.xls and .xlsx formats)
+ * Utility class for reading Excel files (.xls, .xlsx, .xlsm, .xltx and .xltm formats) and CSV files.
+ * The format is detected from the file content, not its extension; a CSV file reads as one sheet named after the file.
  * Requires Apache POI library
  */
 public class ExcelReaderUtil {
     
+    private static volatile SheetCache sheetCache;
+    private static volatile ReadMetricsListener metricsListener = ReadMetricsListener.NO_OP;
+    private static volatile Executor asyncExecutor;
+    
+    /**
+     * Install a cache for readSheet and readSheetAsMap results.
+     * While installed, those methods return unmodifiable lists shared between callers.
+     * 
+     * @param cache Cache to use, or null to disable caching
+     */
+    public static void setSheetCache(SheetCache cache) {
+        sheetCache = cache;
+    }
+    
+    /**
+     * @return The installed sheet cache, or null if caching is disabled
+     */
+    public static SheetCache getSheetCache() {
+        return sheetCache;
+    }
+    
+    /**
+     * Install a listener for read metrics: the time spent opening files, iterating sheets and evaluating formulas,
+     * and the rows, cells, bytes and formulas read. The same measurements are also emitted as JFR events
+     * (category "Excel Reader") whether or not a listener is installed.
+     * 
+     * @param listener Listener to notify, or null to stop collecting metrics
+     */
+    public static void setMetricsListener(ReadMetricsListener listener) {
+        metricsListener = listener != null ? listener : ReadMetricsListener.NO_OP;
+    }
+    
+    /**
+     * @return The installed metrics listener, ReadMetricsListener.NO_OP if there is none
+     */
+    public static ReadMetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+    
+    /**
+     * Set the executor the async read methods run on
+     * 
+     * @param executor Executor to run reads on, or null for the default: a virtual thread per read on JDK 21+,
+     *                 otherwise a pool of daemon threads
+     */
+    public static void setAsyncExecutor(Executor executor) {
+        asyncExecutor = executor;
+    }
+    
+    /**
+     * @return Executor the async read methods run on
+     */
+    public static Executor getAsyncExecutor() {
+        Executor executor = asyncExecutor;
+        return executor != null ? executor : AsyncRead.sharedExecutor();
+    }
+    
     /**
      * Read an entire Excel workbook and return data as a list of sheets
      * 
@@ -24,20 +101,189 @@ public class ExcelReaderUtil {
      * @throws IOException If there's an issue reading the file
      */
     public static List<List<List<Object>>> readEntireWorkbook(String filePath) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+        return readEntireWorkbook(filePath, new ReadOptions());
+    }
+    
+    /**
+     * Read an entire Excel workbook with the given read options.
+     * All sheets share one formula evaluator, so cached results are reused across sheets.
+     * 
+     * @param filePath Path to the Excel file
+     * @param options Options controlling how cells are read
+     * @return List of sheets, where each sheet is a list of rows
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<List<Object>>> readEntireWorkbook(String filePath, ReadOptions options) throws IOException {
+        if (options.getParallelExecutor() != null && FileFormat.detect(filePath) == FileFormat.XLSX) {
+            return readEntireWorkbookInParallel(filePath, options);
+        }
+        
+        try (Workbook workbook = getWorkbook(filePath)) {
             
+            FormulaEvaluator evaluator = createFormulaEvaluator(workbook, options);
+            StringDictionary strings = createStringDictionary(options);
             List<List<List<Object>>> allSheetsData = new ArrayList<>();
             
             for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
                 Sheet sheet = workbook.getSheetAt(i);
-                allSheetsData.add(readSheet(sheet));
+                allSheetsData.add(readSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options), strings));
+            }
+            
+            return allSheetsData;
+        }
+    }
+    
+    /**
+     * Internal method to parse all sheets of an .xlsx file at the same time with the streaming reader.
+     * Each sheet is a separate zip part, so sheets are parsed independently and collected in sheet order.
+     * 
+     * @param filePath Path to the Excel file
+     * @param options Options controlling how cells are read, including the executor the sheets are parsed on
+     * @return List of sheets, where each sheet is a list of rows
+     * @throws IOException If there's an issue reading the file
+     */
+    private static List<List<List<Object>>> readEntireWorkbookInParallel(String filePath, ReadOptions options) throws IOException {
+        ReadEvents.OpenFile event = new ReadEvents.OpenFile();
+        event.begin();
+        long start = System.nanoTime();
+        try (XlsxStreamingReader reader = new XlsxStreamingReader(filePath, options.getSharedStringsMode())) {
+            recordOpen(filePath, true, start, event);
+            
+            List<CompletableFuture<List<List<Object>>>> sheetFutures = new ArrayList<>();
+            
+            for (int i = 0; i < reader.getSheetCount(); i++) {
+                int sheetIndex = i;
+                sheetFutures.add(CompletableFuture.supplyAsync(() -> {
+                    try (RowCursor cursor = reader.openCursorAt(sheetIndex)) {
+                        // Dictionaries are not thread-safe, so each sheet gets its own
+                        cursor.deduplicateStrings(createStringDictionary(options));
+                        return readRows(cursor, options, 0, Integer.MAX_VALUE);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, options.getParallelExecutor()));
+            }
+            
+            try {
+                // allOf only completes once every sheet is done, so the reader is never closed under a running task
+                CompletableFuture.allOf(sheetFutures.toArray(new CompletableFuture<?>[0])).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Failed to read " + filePath, cause);
+            }
+            
+            List<List<List<Object>>> allSheetsData = new ArrayList<>();
+            for (CompletableFuture<List<List<Object>>> sheetFuture : sheetFutures) {
+                allSheetsData.add(sheetFuture.join());
             }
             
             return allSheetsData;
         }
     }
     
+    /**
+     * Internal method to collect the rows of a cursor, applying the column selection and row filters of the read options.
+     * The header row is resolved first, so the cells of unselected columns in later rows are never decoded,
+     * and rows rejected by a filter only have the filter's cells decoded.
+     * 
+     * @param cursor Cursor positioned before the first row
+     * @param options Options controlling how cells are read
+     * @param fromRow Number of rows to skip, without decoding them
+     * @param limit Maximum number of rows to return; reading stops once it is reached
+     * @return List of rows, where each row is a list of cell values
+     * @throws IOException If there's an issue reading the file
+     */
+    private static List<List<Object>> readRows(RowCursor cursor, ReadOptions options, int fromRow, int limit) throws IOException {
+        ReadEvents.ReadSheet event = new ReadEvents.ReadSheet();
+        event.begin();
+        long start = System.nanoTime();
+        List<List<Object>> sheetData = new ArrayList<>();
+        long cells = 0;
+        int position = 0;
+        BitSet columns = null;
+        RowFilter filter = null;
+        
+        if (options.hasSelectedColumns() || options.hasFilters()) {
+            // The header row is needed to resolve the options, even when it is not part of the result
+            if (!cursor.next()) {
+                recordSheet(null, 0, 0, start, event);
+                return sheetData;
+            }
+            boolean hasHeaderRow = cursor.getRowIndex() == 0;
+            List<Object> headerRow = hasHeaderRow ? cursor.getRowData() : null;
+            columns = options.resolveColumns(cursor.getColumnIndexes(), headerRow);
+            filter = options.resolveFilter(cursor.getColumnIndexes(), headerRow);
+            cursor.selectColumns(filter != null ? filter.addColumnsTo(columns) : columns);
+            
+            if (hasHeaderRow || filter == null || filter.matches(cursor)) {
+                // The first row was decoded before the selection was known
+                if (fromRow == 0 && limit > 0) {
+                    List<Object> rowData = selectCells(cursor.getColumnIndexes(), cursor.getRowData(), columns);
+                    sheetData.add(rowData);
+                    cells += rowData.size();
+                }
+                position++;
+            }
+        }
+        
+        while (sheetData.size() < limit) {
+            checkInterrupted();
+            if (filter == null && position < fromRow) {
+                if (!cursor.skipRow()) {
+                    break;
+                }
+                position++;
+                continue;
+            }
+            
+            if (!cursor.next()) {
+                break;
+            }
+            if (filter != null && !filter.matches(cursor)) {
+                continue;
+            }
+            if (position++ < fromRow) {
+                continue;
+            }
+            // Filter columns outside the selection were only decoded to check the filter
+            List<Object> rowData = filter != null
+                    ? selectCells(cursor.getColumnIndexes(), cursor.getRowData(), columns)
+                    : cursor.getRowData();
+            sheetData.add(rowData);
+            cells += rowData.size();
+        }
+        
+        recordSheet(null, sheetData.size(), cells, start, event);
+        return sheetData;
+    }
+    
+    /**
+     * Internal method to drop the cells of unselected columns from a row
+     * 
+     * @param columnIndexes Column index of each value in rowData
+     * @param rowData Cell values of the row
+     * @param columns Indexes of the columns to keep, or null to keep all
+     * @return Cell values of the selected columns
+     */
+    private static List<Object> selectCells(int[] columnIndexes, List<Object> rowData, BitSet columns) {
+        if (columns == null) {
+            return rowData;
+        }
+        
+        List<Object> selected = new ArrayList<>();
+        for (int i = 0; i < rowData.size(); i++) {
+            if (columns.get(columnIndexes[i])) {
+                selected.add(rowData.get(i));
+            }
+        }
+        return selected;
+    }
+    
     /**
      * Read a specific sheet from an Excel file
      * 
@@ -47,75 +293,1315 @@ public class ExcelReaderUtil {
      * @throws IOException If there's an issue reading the file
      */
     public static List<List<Object>> readSheet(String filePath, String sheetName) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+        return readSheet(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Read a specific sheet from an Excel file with the given read options
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return List of rows from the specified sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<Object>> readSheet(String filePath, String sheetName, ReadOptions options) throws IOException {
+        SheetCache cache = sheetCache;
+        if (cache != null && !options.hasFilters()) {
+            return cache.get(filePath, sheetName, "rows", options.cacheKey(), () -> loadSheet(filePath, sheetName, options));
+        }
+        return loadSheet(filePath, sheetName, options);
+    }
+    
+    /**
+     * Internal method to read a specific sheet from an Excel file, bypassing the sheet cache
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return List of rows from the specified sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    private static List<List<Object>> loadSheet(String filePath, String sheetName, ReadOptions options) throws IOException {
+        try (Workbook workbook = getWorkbook(filePath)) {
+            
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            }
+            
+            return readSheet(sheet, createFormulaEvaluator(workbook, options), selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+    }
+    
+    /**
+     * Read one page of rows from a specific sheet, i.e. readSheet(filePath, sheetName).subList(fromRow, fromRow + limit)
+     * without reading the rows after the page
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param fromRow Position of the first row to return in the full readSheet result (0-based)
+     * @param limit Maximum number of rows to return
+     * @return List of rows from the specified sheet, with at most limit rows
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<Object>> readSheet(String filePath, String sheetName, int fromRow, int limit) throws IOException {
+        return readSheet(filePath, sheetName, fromRow, limit, new ReadOptions());
+    }
+    
+    /**
+     * Read one page of rows from a specific sheet with the given read options.
+     * With cached formula results the page is read with the streaming readers, which skip the rows before the page
+     * without decoding their cells and stop parsing once the page is full. Otherwise the workbook is loaded so that
+     * formulas can be evaluated, but only the rows of the page are decoded. Page reads bypass the sheet cache.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param fromRow Position of the first row to return in the full readSheet result (0-based)
+     * @param limit Maximum number of rows to return
+     * @param options Options controlling how cells are read
+     * @return List of rows from the specified sheet, with at most limit rows
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<Object>> readSheet(String filePath, String sheetName, int fromRow, int limit, ReadOptions options) throws IOException {
+        if (fromRow < 0 || limit < 0) {
+            throw new IllegalArgumentException("Row range must not be negative: fromRow=" + fromRow + ", limit=" + limit);
+        }
+        
+        if (options.isUseCachedFormulaResults()) {
+            try (RowCursor cursor = openCursor(filePath, sheetName, options)) {
+                return readRows(cursor, options, fromRow, limit);
+            }
+        }
+        
+        try (Workbook workbook = getWorkbook(filePath)) {
+            
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            }
+            
+            return readSheet(sheet, createFormulaEvaluator(workbook, options), selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options), fromRow, limit);
+        }
+    }
+    
+    /**
+     * Read a specific sheet from an Excel file by index
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @return List of rows from the specified sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<Object>> readSheetByIndex(String filePath, int sheetIndex) throws IOException {
+        return readSheetByIndex(filePath, sheetIndex, new ReadOptions());
+    }
+    
+    /**
+     * Read a specific sheet from an Excel file by index with the given read options
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @param options Options controlling how cells are read
+     * @return List of rows from the specified sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<List<Object>> readSheetByIndex(String filePath, int sheetIndex, ReadOptions options) throws IOException {
+        try (Workbook workbook = getWorkbook(filePath)) {
+            
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
+            return readSheet(sheet, createFormulaEvaluator(workbook, options), selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+    }
+    
+    /**
+     * Read a sheet as a list of maps, using the first row as headers
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return List of maps, where each map represents a row with header keys
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<Map<String, Object>> readSheetAsMap(String filePath, String sheetName) throws IOException {
+        return readSheetAsMap(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Read a sheet as a list of maps with the given read options, using the first row as headers
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return List of maps, where each map represents a row with header keys
+     * @throws IOException If there's an issue reading the file
+     */
+    public static List<Map<String, Object>> readSheetAsMap(String filePath, String sheetName, ReadOptions options) throws IOException {
+        SheetCache cache = sheetCache;
+        if (cache != null && !options.hasFilters()) {
+            return cache.get(filePath, sheetName, "maps", options.cacheKey(), () -> loadSheetAsMap(filePath, sheetName, options));
+        }
+        return loadSheetAsMap(filePath, sheetName, options);
+    }
+    
+    /**
+     * Internal method to read a sheet as a list of maps, bypassing the sheet cache
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return List of maps, where each map represents a row with header keys
+     * @throws IOException If there's an issue reading the file
+     */
+    private static List<Map<String, Object>> loadSheetAsMap(String filePath, String sheetName, ReadOptions options) throws IOException {
+        try (Workbook workbook = getWorkbook(filePath)) {
+            
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            }
+            
+            return readSheetAsMap(sheet, createFormulaEvaluator(workbook, options), selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+    }
+    
+    /**
+     * Read a specific sheet without blocking the calling thread; the read runs on the async executor.
+     * Cancelling the returned future stops the read at the next row.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Future completed with the rows of the sheet, or with the exception the read threw
+     */
+    public static CompletableFuture<List<List<Object>>> readSheetAsync(String filePath, String sheetName) {
+        return readSheetAsync(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Read a specific sheet with the given read options without blocking the calling thread
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return Future completed with the rows of the sheet, or with the exception the read threw
+     */
+    public static CompletableFuture<List<List<Object>>> readSheetAsync(String filePath, String sheetName, ReadOptions options) {
+        return AsyncRead.start(() -> readSheet(filePath, sheetName, options), getAsyncExecutor());
+    }
+    
+    /**
+     * Read a sheet as a list of maps without blocking the calling thread; the read runs on the async executor.
+     * Cancelling the returned future stops the read at the next row.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Future completed with the rows of the sheet as maps, or with the exception the read threw
+     */
+    public static CompletableFuture<List<Map<String, Object>>> readSheetAsMapAsync(String filePath, String sheetName) {
+        return readSheetAsMapAsync(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Read a sheet as a list of maps with the given read options without blocking the calling thread
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options controlling how cells are read
+     * @return Future completed with the rows of the sheet as maps, or with the exception the read threw
+     */
+    public static CompletableFuture<List<Map<String, Object>>> readSheetAsMapAsync(String filePath, String sheetName,
+                                                                                   ReadOptions options) {
+        return AsyncRead.start(() -> readSheetAsMap(filePath, sheetName, options), getAsyncExecutor());
+    }
+    
+    /**
+     * Read a sheet as a list of records or objects, matching the first row's headers to record components
+     * (by name, or by @ExcelColumn) or to the @ExcelColumn fields of a class with a no-argument constructor.
+     * Numeric and boolean cells are stored in primitive properties without boxing.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param type Record or class to map each data row to
+     * @return List of instances, one per data row
+     * @throws IOException If there's an issue reading the file
+     */
+    public static <T> List<T> readSheetAs(String filePath, String sheetName, Class<T> type) throws IOException {
+        return readSheetAs(filePath, sheetName, type, new ReadOptions());
+    }
+    
+    /**
+     * Read a sheet as a list of records or objects with the given read options.
+     * Row filters apply; the mapped properties select the columns, so column selections are ignored.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param type Record or class to map each data row to
+     * @param options Options controlling how cells are read
+     * @return List of instances, one per data row
+     * @throws IOException If there's an issue reading the file
+     */
+    public static <T> List<T> readSheetAs(String filePath, String sheetName, Class<T> type, ReadOptions options) throws IOException {
+        // Fail on an unmappable type before opening the file
+        RowMapper<T> mapper = RowMapper.of(type);
+        
+        try (Workbook workbook = getWorkbook(filePath)) {
             
             Sheet sheet = workbook.getSheet(sheetName);
             if (sheet == null) {
                 throw new IllegalArgumentException("Sheet not found: " + sheetName);
             }
             
-            return readSheet(sheet);
+            return readSheetAs(sheet, createFormulaEvaluator(workbook, options), filterRows(sheet, options), mapper);
+        }
+    }
+    
+    /**
+     * How the streaming reader holds the shared strings table (sharedStrings.xml) of an .xlsx file
+     */
+    public enum SharedStringsMode {
+        
+        /** Parse the whole table onto the heap when the file is opened; fastest lookups */
+        IN_MEMORY,
+        
+        /**
+         * Spill the table to a temp file that is memory-mapped read-only, so string lookups use no heap
+         * beyond the returned strings. Use for workbooks with millions of unique strings.
+         */
+        MEMORY_MAPPED,
+        
+        /** Parse the table onto the heap on the first string lookup, so reads that never need a string skip it */
+        LAZY
+    }
+    
+    /**
+     * Options controlling how cell values are read
+     */
+    public static class ReadOptions {
+        
+        private boolean useCachedFormulaResults;
+        private Executor parallelExecutor;
+        private SharedStringsMode sharedStringsMode = SharedStringsMode.IN_MEMORY;
+        private boolean deduplicateStrings;
+        private List<String> selectedHeaders = Collections.emptyList();
+        private int[] selectedColumns = new int[0];
+        private final List<ColumnCondition> filters = new ArrayList<>();
+        
+        /**
+         * Use the formula results stored in the file instead of evaluating formulas.
+         * Only safe for files last saved by Excel (or another tool that writes cached results).
+         * 
+         * @param useCachedFormulaResults true to skip formula evaluation
+         * @return This options object
+         */
+        public ReadOptions useCachedFormulaResults(boolean useCachedFormulaResults) {
+            this.useCachedFormulaResults = useCachedFormulaResults;
+            return this;
+        }
+        
+        /**
+         * @return true if formula cells return their cached result without evaluation
+         */
+        public boolean isUseCachedFormulaResults() {
+            return useCachedFormulaResults;
+        }
+        
+        /**
+         * Parse the sheets of .xlsx files at the same time on the given executor,
+         * e.g. a ForkJoinPool or Executors.newVirtualThreadPerTaskExecutor() on JDK 21+.
+         * Parallel reads use the streaming reader, so formula cells return their cached results.
+         * Has no effect on .xls files.
+         * 
+         * @param parallelExecutor Executor to parse sheets on, or null to read sheets one after another
+         * @return This options object
+         */
+        public ReadOptions parallelExecutor(Executor parallelExecutor) {
+            this.parallelExecutor = parallelExecutor;
+            return this;
+        }
+        
+        /**
+         * @return Executor sheets are parsed on, or null if sheets are read one after another
+         */
+        public Executor getParallelExecutor() {
+            return parallelExecutor;
+        }
+        
+        /**
+         * Choose how the streaming reader holds the shared strings table of .xlsx files.
+         * Applies wherever the streaming reader is used: parallel reads, streamSheetAsMap,
+         * and readSheet with cached formula results. Values read are the same in every mode.
+         * 
+         * @param sharedStringsMode Shared strings mode to use
+         * @return This options object
+         */
+        public ReadOptions sharedStrings(SharedStringsMode sharedStringsMode) {
+            if (sharedStringsMode == null) {
+                throw new IllegalArgumentException("Shared strings mode must not be null");
+            }
+            this.sharedStringsMode = sharedStringsMode;
+            return this;
+        }
+        
+        /**
+         * @return How the shared strings table of .xlsx files is held, IN_MEMORY by default
+         */
+        public SharedStringsMode getSharedStringsMode() {
+            return sharedStringsMode;
+        }
+        
+        /**
+         * Return one String instance per distinct cell string within a read, instead of a new one per cell.
+         * Saves most of the memory of categorical columns (countries, statuses) and lets equal values compare by reference.
+         * Shared strings of .xlsx and .xls files are looked up by their index, so repeated values are decoded once.
+         * 
+         * @param deduplicateStrings true to deduplicate string values
+         * @return This options object
+         */
+        public ReadOptions deduplicateStrings(boolean deduplicateStrings) {
+            this.deduplicateStrings = deduplicateStrings;
+            return this;
+        }
+        
+        /**
+         * @return true if string values are deduplicated within a read
+         */
+        public boolean isDeduplicateStrings() {
+            return deduplicateStrings;
+        }
+        
+        /**
+         * Only read the columns with these headers, taken from the first row of the sheet.
+         * Cells of other columns are skipped before their value is decoded, so their strings are not
+         * looked up and their formulas are not evaluated. Can be combined with selectColumns(int...).
+         * 
+         * @param headers Headers of the columns to read
+         * @return This options object
+         */
+        public ReadOptions selectColumns(String... headers) {
+            this.selectedHeaders = Collections.unmodifiableList(Arrays.asList(headers.clone()));
+            return this;
+        }
+        
+        /**
+         * Only read the columns at these indexes, skipping the cells of other columns before their value is decoded.
+         * Can be combined with selectColumns(String...).
+         * 
+         * @param columnIndexes Indexes of the columns to read (0-based)
+         * @return This options object
+         */
+        public ReadOptions selectColumns(int... columnIndexes) {
+            this.selectedColumns = columnIndexes.clone();
+            return this;
+        }
+        
+        /**
+         * @return Headers of the columns to read, or an empty list if no columns are selected by header
+         */
+        public List<String> getSelectedHeaders() {
+            return selectedHeaders;
+        }
+        
+        /**
+         * @return Indexes of the columns to read, or an empty array if no columns are selected by index
+         */
+        public int[] getSelectedColumns() {
+            return selectedColumns.clone();
+        }
+        
+        /**
+         * Only read the rows whose cell in the column with this header meets a condition. The condition sees
+         * the cell value in the same form readSheet returns it, or null for a missing cell.
+         * The filter's cells are decoded first, and the rest of a row only if every filter matches.
+         * Filters are combined with AND, and are not applied to the header row.
+         * Filtered reads bypass the sheet cache.
+         * 
+         * @param header Header of the column, taken from the first row of the sheet
+         * @param condition Condition the cell value must meet
+         * @return This options object
+         */
+        public ReadOptions filter(String header, Predicate<Object> condition) {
+            filters.add(new ColumnCondition(header, -1, condition));
+            return this;
+        }
+        
+        /**
+         * Only read the rows whose cell in the column at this index meets a condition
+         * 
+         * @param columnIndex Index of the column (0-based)
+         * @param condition Condition the cell value must meet
+         * @return This options object
+         */
+        public ReadOptions filter(int columnIndex, Predicate<Object> condition) {
+            filters.add(new ColumnCondition(null, columnIndex, condition));
+            return this;
+        }
+        
+        /**
+         * @return true if rows are filtered
+         */
+        boolean hasFilters() {
+            return !filters.isEmpty();
+        }
+        
+        /**
+         * Resolve the row filters against the header row of a sheet
+         * 
+         * @param columnIndexes Column index of each header cell
+         * @param headerRow Values of the header row, or null if the sheet has no header row
+         * @return Condition rows must meet, or null if all rows are read
+         */
+        RowFilter resolveFilter(int[] columnIndexes, List<Object> headerRow) {
+            if (filters.isEmpty()) {
+                return null;
+            }
+            
+            int[] columns = new int[filters.size()];
+            List<Predicate<Object>> conditions = new ArrayList<>();
+            for (int i = 0; i < filters.size(); i++) {
+                ColumnCondition filter = filters.get(i);
+                columns[i] = filter.header != null ? findColumn(filter.header, columnIndexes, headerRow) : filter.column;
+                conditions.add(filter.condition);
+            }
+            return new RowFilter(columns, conditions);
+        }
+        
+        /**
+         * @return Index of the first column with this header
+         */
+        private static int findColumn(String header, int[] columnIndexes, List<Object> headerRow) {
+            for (int i = 0; headerRow != null && i < headerRow.size(); i++) {
+                Object value = headerRow.get(i);
+                if (header.equals(value != null ? value.toString() : "")) {
+                    return columnIndexes[i];
+                }
+            }
+            throw new IllegalArgumentException("Column not found in sheet: " + header);
+        }
+        
+        /**
+         * @return true if only some columns are read
+         */
+        boolean hasSelectedColumns() {
+            return !selectedHeaders.isEmpty() || selectedColumns.length > 0;
+        }
+        
+        /**
+         * Resolve the selected columns against the header row of a sheet
+         * 
+         * @param columnIndexes Column index of each header cell
+         * @param headerRow Values of the header row, or null if the sheet has no header row
+         * @return Indexes of the columns to read, or null if all columns are read
+         */
+        BitSet resolveColumns(int[] columnIndexes, List<Object> headerRow) {
+            if (!hasSelectedColumns()) {
+                return null;
+            }
+            
+            BitSet columns = new BitSet();
+            for (int column : selectedColumns) {
+                columns.set(column);
+            }
+            
+            for (String header : selectedHeaders) {
+                boolean found = false;
+                for (int i = 0; headerRow != null && i < headerRow.size(); i++) {
+                    Object value = headerRow.get(i);
+                    if (header.equals(value != null ? value.toString() : "")) {
+                        columns.set(columnIndexes[i]);
+                        found = true;
+                    }
+                }
+                if (!found) {
+                    throw new IllegalArgumentException("Column not found in sheet: " + header);
+                }
+            }
+            
+            return columns;
+        }
+        
+        /**
+         * @return Key part for the sheet cache, covering the options that change cell values
+         */
+        String cacheKey() {
+            String key = useCachedFormulaResults ? "cached-formulas" : "evaluated-formulas";
+            if (hasSelectedColumns()) {
+                key += ";headers=" + selectedHeaders + ";columns=" + Arrays.toString(selectedColumns);
+            }
+            return key;
+        }
+        
+        /**
+         * A row filter as configured, before its header is resolved
+         */
+        private static final class ColumnCondition {
+            
+            private final String header;
+            private final int column;
+            private final Predicate<Object> condition;
+            
+            ColumnCondition(String header, int column, Predicate<Object> condition) {
+                this.header = header;
+                this.column = column;
+                this.condition = condition;
+            }
+        }
+    }
+    
+    /**
+     * Row filters resolved to column indexes, checked before the rest of a row is decoded
+     */
+    static final class RowFilter {
+        
+        private final int[] columns;
+        private final List<Predicate<Object>> conditions;
+        
+        RowFilter(int[] columns, List<Predicate<Object>> conditions) {
+            this.columns = columns;
+            this.conditions = conditions;
+        }
+        
+        /**
+         * @param selected Indexes of the columns to read, or null for all
+         * @return Columns the cursor has to decode so that both the selection and the filter can be served
+         */
+        BitSet addColumnsTo(BitSet selected) {
+            if (selected == null) {
+                return null;
+            }
+            BitSet needed = (BitSet) selected.clone();
+            for (int column : columns) {
+                needed.set(column);
+            }
+            return needed;
+        }
+        
+        /**
+         * Check the current row of a cursor, decoding only the filter's cells
+         */
+        boolean matches(RowCursor cursor) {
+            int[] columnIndexes = cursor.getColumnIndexes();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = null;
+                for (int cell = 0; cell < cursor.getCellCount(); cell++) {
+                    if (columnIndexes[cell] == columns[i]) {
+                        value = cursor.getCellValue(cell);
+                        break;
+                    }
+                }
+                if (!conditions.get(i).test(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        /**
+         * Check a row of an in-memory sheet, decoding only the filter's cells
+         */
+        boolean matches(Row row, FormulaEvaluator evaluator) {
+            for (int i = 0; i < columns.length; i++) {
+                Cell cell = row.getCell(columns[i]);
+                if (!conditions.get(i).test(cell != null ? getCellValue(cell, evaluator) : null)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+    
+    /**
+     * Lazily stream a sheet as maps, using the first row as headers.
+     * Rows are parsed as the stream is consumed, so sheets larger than the heap can be processed.
+     * The file stays open until the stream is closed, so use it in a try-with-resources block.
+     * Formula cells return the result cached in the file, as with streamSheet.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Stream of maps, where each map represents a row with header keys
+     * @throws IOException If there's an issue reading the file
+     */
+    public static Stream<Map<String, Object>> streamSheetAsMap(String filePath, String sheetName) throws IOException {
+        return streamSheetAsMap(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Lazily stream a sheet as maps with the given read options, using the first row as headers.
+     * Column selections and row filters are applied while parsing, so rejected rows only have the filter's cells decoded.
+     * Formula cells always return the result cached in the file.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options selecting the columns and rows to read
+     * @return Stream of maps, where each map represents a row with header keys
+     * @throws IOException If there's an issue reading the file
+     */
+    public static Stream<Map<String, Object>> streamSheetAsMap(String filePath, String sheetName, ReadOptions options) throws IOException {
+        RowCursor cursor = openCursor(filePath, sheetName, options);
+        try {
+            // Get headers from the first row
+            if (!cursor.next() || cursor.getRowIndex() != 0) {
+                throw new IllegalArgumentException("Header row not found in sheet: " + sheetName);
+            }
+            int[] columnIndexes = cursor.getColumnIndexes();
+            List<Object> headerRow = cursor.getRowData();
+            BitSet columns = options.resolveColumns(columnIndexes, headerRow);
+            RowFilter filter = options.resolveFilter(columnIndexes, headerRow);
+            
+            List<String> headers = new ArrayList<>();
+            int[] headerColumns = new int[headerRow.size()];
+            for (int i = 0; i < headerRow.size(); i++) {
+                if (columns == null || columns.get(columnIndexes[i])) {
+                    Object header = headerRow.get(i);
+                    headerColumns[headers.size()] = columnIndexes[i];
+                    headers.add(header != null ? header.toString() : "");
+                }
+            }
+            cursor.selectColumns(filter != null ? filter.addColumnsTo(columns) : columns);
+            
+            Iterator<Map<String, Object>> rows = new SheetRowIterator(cursor, SheetRow.Schema.of(headers, headerColumns), filter);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            cursor.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            cursor.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Publish the rows of a sheet to Flow subscribers, parsing only as fast as they request rows.
+     * Each subscriber gets its own read of the file, which is opened on the first request and closed on completion,
+     * error or cancellation. Rows are parsed and delivered on the async executor, and formula cells return the result
+     * cached in the file, as with streamSheet.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Publisher of rows, where each row is a list of cell values
+     */
+    public static Flow.Publisher<List<Object>> publishSheet(String filePath, String sheetName) {
+        return new SheetPublisher<>(() -> {
+            RowCursor cursor = openCursor(filePath, sheetName);
+            Iterator<List<Object>> rows = new Iterator<List<Object>>() {
+                private boolean advanced;
+                private boolean hasRow;
+                
+                @Override
+                public boolean hasNext() {
+                    if (!advanced) {
+                        try {
+                            hasRow = cursor.next();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        advanced = true;
+                    }
+                    return hasRow;
+                }
+                
+                @Override
+                public List<Object> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    advanced = false;
+                    return cursor.getRowData();
+                }
+            };
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        try {
+                            cursor.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }, getAsyncExecutor());
+    }
+    
+    /**
+     * Publish the rows of a sheet as maps to Flow subscribers, using the first row as headers
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Publisher of maps, where each map represents a row with header keys
+     */
+    public static Flow.Publisher<Map<String, Object>> publishSheetAsMap(String filePath, String sheetName) {
+        return publishSheetAsMap(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Publish the rows of a sheet as maps to Flow subscribers with the given read options, parsing only as fast as
+     * they request rows. Column selections and row filters are applied while parsing, as with streamSheetAsMap.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options selecting the columns and rows to read
+     * @return Publisher of maps, where each map represents a row with header keys
+     */
+    public static Flow.Publisher<Map<String, Object>> publishSheetAsMap(String filePath, String sheetName, ReadOptions options) {
+        return new SheetPublisher<>(() -> streamSheetAsMap(filePath, sheetName, options), getAsyncExecutor());
+    }
+    
+    /**
+     * Internal method to open a row cursor over a sheet with the streaming readers.
+     * Closing the cursor closes the file.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    static RowCursor openCursor(String filePath, String sheetName) throws IOException {
+        return openCursor(filePath, sheetName, new ReadOptions());
+    }
+    
+    /**
+     * Internal method to open a row cursor over a sheet with the streaming readers,
+     * holding the shared strings of .xlsx files as the options select.
+     * Closing the cursor closes the file.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options selecting the shared strings mode
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    static RowCursor openCursor(String filePath, String sheetName, ReadOptions options) throws IOException {
+        return openCursor(filePath, sheetName, options, null, -1, -1);
+    }
+    
+    /**
+     * Internal method to open a row cursor that may start part-way through a sheet. For .xlsx files the cursor jumps
+     * to an offset returned by RowCursor.getRowOffset() while the hint is still valid, without parsing the rows before it;
+     * other formats start at the first row. Either way the cursor starts at or before the row at rowIndex,
+     * and callers skip the rows they do not want.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param options Options selecting the shared strings mode
+     * @param sheetPart Sheet part the offset was recorded in, or null to start at the first row
+     * @param rowOffset Offset of a row at or before rowIndex, as returned by RowCursor.getRowOffset()
+     * @param rowIndex Index of the row the cursor must not start after (0-based)
+     * @return Cursor positioned before a row at or before rowIndex
+     * @throws IOException If there's an issue reading the file
+     */
+    static RowCursor openCursor(String filePath, String sheetName, ReadOptions options, String sheetPart, long rowOffset,
+            int rowIndex) throws IOException {
+        ReadEvents.OpenFile event = new ReadEvents.OpenFile();
+        event.begin();
+        long start = System.nanoTime();
+        switch (FileFormat.detect(filePath)) {
+            case XLSX: {
+                XlsxStreamingReader reader = new XlsxStreamingReader(filePath, options.getSharedStringsMode());
+                recordOpen(filePath, true, start, event);
+                try {
+                    RowCursor cursor = new ClosingRowCursor(reader.openCursor(sheetName, sheetPart, rowOffset, rowIndex), reader);
+                    cursor.deduplicateStrings(createStringDictionary(options));
+                    return cursor;
+                } catch (IOException | RuntimeException e) {
+                    reader.close();
+                    throw e;
+                }
+            }
+            case XLS: {
+                XlsStreamingReader reader = new XlsStreamingReader(filePath);
+                recordOpen(filePath, true, start, event);
+                try {
+                    RowCursor cursor = new ClosingRowCursor(reader.openCursor(sheetName), reader);
+                    cursor.deduplicateStrings(createStringDictionary(options));
+                    return cursor;
+                } catch (IOException | RuntimeException e) {
+                    reader.close();
+                    throw e;
+                }
+            }
+            default: {
+                CsvReader reader = new CsvReader(filePath);
+                recordOpen(filePath, true, start, event);
+                RowCursor cursor = reader.openCursor(sheetName);
+                cursor.deduplicateStrings(createStringDictionary(options));
+                return cursor;
+            }
+        }
+    }
+    
+    /**
+     * Cursor wrapper that also closes the file the cursor reads from
+     */
+    private static final class ClosingRowCursor implements RowCursor {
+        
+        private final RowCursor cursor;
+        private final Closeable source;
+        
+        ClosingRowCursor(RowCursor cursor, Closeable source) {
+            this.cursor = cursor;
+            this.source = source;
+        }
+        
+        @Override
+        public boolean next() throws IOException {
+            return cursor.next();
+        }
+        
+        @Override
+        public boolean skipRow() throws IOException {
+            return cursor.skipRow();
+        }
+        
+        @Override
+        public int getRowIndex() {
+            return cursor.getRowIndex();
+        }
+        
+        @Override
+        public String getSheetPart() {
+            return cursor.getSheetPart();
+        }
+        
+        @Override
+        public long getRowOffset() {
+            return cursor.getRowOffset();
+        }
+        
+        @Override
+        public int[] getColumnIndexes() {
+            return cursor.getColumnIndexes();
+        }
+        
+        @Override
+        public int getCellCount() {
+            return cursor.getCellCount();
+        }
+        
+        @Override
+        public Object getCellValue(int cell) {
+            return cursor.getCellValue(cell);
+        }
+        
+        @Override
+        public List<Object> getRowData() {
+            return cursor.getRowData();
+        }
+        
+        @Override
+        public void selectColumns(BitSet columns) {
+            cursor.selectColumns(columns);
+        }
+        
+        @Override
+        public void deduplicateStrings(StringDictionary strings) {
+            cursor.deduplicateStrings(strings);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                cursor.close();
+            } finally {
+                source.close();
+            }
+        }
+    }
+    
+    /**
+     * Iterator turning the data rows of a cursor into SheetRow maps that share one schema
+     */
+    private static final class SheetRowIterator implements Iterator<Map<String, Object>> {
+        
+        private final RowCursor cursor;
+        private final SheetRow.Schema schema;
+        private final RowFilter filter;
+        private final int[] slotByColumn;
+        private boolean advanced;
+        private boolean hasRow;
+        
+        SheetRowIterator(RowCursor cursor, SheetRow.Schema schema, RowFilter filter) {
+            this.cursor = cursor;
+            this.schema = schema;
+            this.filter = filter;
+            this.slotByColumn = new int[schema.size() == 0 ? 0 : maxColumn(schema) + 1];
+            Arrays.fill(slotByColumn, -1);
+            for (int slot = 0; slot < schema.size(); slot++) {
+                slotByColumn[schema.getColumn(slot)] = slot;
+            }
+        }
+        
+        private static int maxColumn(SheetRow.Schema schema) {
+            int max = 0;
+            for (int slot = 0; slot < schema.size(); slot++) {
+                max = Math.max(max, schema.getColumn(slot));
+            }
+            return max;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (!advanced) {
+                try {
+                    do {
+                        hasRow = cursor.next();
+                    } while (hasRow && filter != null && !filter.matches(cursor));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                advanced = true;
+            }
+            return hasRow;
+        }
+        
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            
+            // Only the cells that have a header are decoded
+            int[] columnIndexes = cursor.getColumnIndexes();
+            Object[] values = new Object[schema.size()];
+            for (int i = 0; i < cursor.getCellCount(); i++) {
+                int column = columnIndexes[i];
+                if (column < slotByColumn.length && slotByColumn[column] >= 0) {
+                    values[slotByColumn[column]] = cursor.getCellValue(i);
+                }
+            }
+            return new SheetRow(schema, values);
+        }
+    }
+    
+    /**
+     * Callback receiving rows from the streaming read methods
+     */
+    public interface RowHandler {
+        
+        /**
+         * Handle a single row
+         * 
+         * @param rowIndex Index of the row in the sheet (0-based)
+         * @param rowData List of cell values, in the same form readSheet returns them
+         */
+        void handleRow(int rowIndex, List<Object> rowData);
+    }
+    
+    /**
+     * Callback receiving rows together with the column index of each cell, used by the internal readers
+     */
+    interface CellRowHandler {
+        
+        /**
+         * Handle a single row
+         * 
+         * @param rowIndex Index of the row in the sheet (0-based)
+         * @param columnIndexes Column index of each value in rowData; only valid during the call, and may be longer than rowData
+         * @param rowData List of cell values, in the same form readSheet returns them
+         */
+        void handleRow(int rowIndex, int[] columnIndexes, List<Object> rowData);
+    }
+    
+    /**
+     * Pull-based cursor over the rows of a sheet, used by the internal readers
+     */
+    interface RowCursor extends Closeable {
+        
+        /**
+         * Advance to the next row
+         * 
+         * @return true if there is a row, false at the end of the sheet
+         * @throws IOException If there's an issue reading the file
+         */
+        boolean next() throws IOException;
+        
+        /**
+         * Advance to the next row without decoding its cells; only getRowIndex() is valid for a skipped row
+         * 
+         * @return true if there is a row, false at the end of the sheet
+         * @throws IOException If there's an issue reading the file
+         */
+        boolean skipRow() throws IOException;
+        
+        /**
+         * @return Index of the current row in the sheet (0-based)
+         */
+        int getRowIndex();
+        
+        /**
+         * @return Name of the zip entry the sheet is stored in, or null if the format has none
+         */
+        default String getSheetPart() {
+            return null;
+        }
+        
+        /**
+         * @return Offset in the sheet part at or before the start of the current row, which a later cursor can be resumed
+         * from; -1 if the format has no offsets
+         */
+        default long getRowOffset() {
+            return -1;
+        }
+        
+        /**
+         * @return Column index of each value of the current row; only valid until the next call, and may be longer than the row
+         */
+        int[] getColumnIndexes();
+        
+        /**
+         * @return Number of cells in the current row
+         */
+        int getCellCount();
+        
+        /**
+         * Decode a single cell of the current row without decoding the rest of the row
+         * 
+         * @param cell Position of the cell in the row, i.e. in getColumnIndexes() (not its column index)
+         * @return Cell value, in the same form readSheet returns it
+         */
+        Object getCellValue(int cell);
+        
+        /**
+         * @return Cell values of the current row, in the same form readSheet returns them
+         */
+        List<Object> getRowData();
+        
+        /**
+         * Only return the cells of these columns from the next row on; the cells of other columns are skipped undecoded
+         * 
+         * @param columns Indexes of the columns to return, or null to return all
+         */
+        void selectColumns(BitSet columns);
+        
+        /**
+         * Return string values through this dictionary from the next decoded cell on
+         * 
+         * @param strings Dictionary deduplicating string values, or null to return each string as read
+         */
+        void deduplicateStrings(StringDictionary strings);
+    }
+    
+    /**
+     * Stream a specific sheet row by row without loading the whole workbook.
+     * The sheet XML (.xlsx) or BIFF records (.xls) are read one row at a time, so memory stays flat regardless of row count.
+     * Formula cells return the result cached in the file instead of being re-evaluated.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    public static void streamSheet(String filePath, String sheetName, RowHandler handler) throws IOException {
+        streamCells(filePath, sheetName, (rowIndex, columnIndexes, rowData) -> handler.handleRow(rowIndex, rowData));
+    }
+    
+    /**
+     * Stream a specific sheet by index row by row without loading the whole workbook
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    public static void streamSheetByIndex(String filePath, int sheetIndex, RowHandler handler) throws IOException {
+        streamCellsByIndex(filePath, sheetIndex, (rowIndex, columnIndexes, rowData) -> handler.handleRow(rowIndex, rowData));
+    }
+    
+    /**
+     * Read a specific sheet into typed, column-oriented storage.
+     * Numbers, booleans, dates and strings are stored unboxed per column, which takes far less heap
+     * than the List of Lists returned by readSheet. The sheet is read with the streaming readers, so formula cells
+     * hold the result cached in the file, as with streamSheet, instead of being evaluated as by readSheet.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @return Columnar copy of the sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    public static ColumnarSheet readSheetColumnar(String filePath, String sheetName) throws IOException {
+        return readSheetColumnar(filePath, sheetName, false);
+    }
+    
+    /**
+     * Read a specific sheet into typed, column-oriented storage, optionally treating row 0 as headers.
+     * Header cells are kept apart so they do not widen the inferred column types.
+     * Only row 0 is a header row: if the sheet has no row 0, it has no headers and all its rows are data.
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param hasHeaderRow Whether row 0 holds column headers rather than data
+     * @return Columnar copy of the sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    public static ColumnarSheet readSheetColumnar(String filePath, String sheetName, boolean hasHeaderRow) throws IOException {
+        ColumnarSheet.Builder builder = new ColumnarSheet.Builder(hasHeaderRow);
+        streamCells(filePath, sheetName, builder);
+        return builder.build();
+    }
+    
+    /**
+     * Internal method to stream a sheet with cell positions, using the streaming readers
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to read
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    private static void streamCells(String filePath, String sheetName, CellRowHandler handler) throws IOException {
+        switch (FileFormat.detect(filePath)) {
+            case XLSX:
+                try (XlsxStreamingReader reader = new XlsxStreamingReader(filePath)) {
+                    reader.readSheet(sheetName, handler);
+                }
+                break;
+            case XLS:
+                try (XlsStreamingReader reader = new XlsStreamingReader(filePath)) {
+                    reader.readSheet(sheetName, handler);
+                }
+                break;
+            default:
+                new CsvReader(filePath).readSheet(sheetName, handler);
+                break;
         }
     }
     
     /**
-     * Read a specific sheet from an Excel file by index
+     * Internal method to stream a sheet by index with cell positions
      * 
      * @param filePath Path to the Excel file
      * @param sheetIndex Index of the sheet to read (0-based)
-     * @return List of rows from the specified sheet
+     * @param handler Callback receiving each row
      * @throws IOException If there's an issue reading the file
      */
-    public static List<List<Object>> readSheetByIndex(String filePath, int sheetIndex) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
-            
-            Sheet sheet = workbook.getSheetAt(sheetIndex);
-            return readSheet(sheet);
+    private static void streamCellsByIndex(String filePath, int sheetIndex, CellRowHandler handler) throws IOException {
+        switch (FileFormat.detect(filePath)) {
+            case XLSX:
+                try (XlsxStreamingReader reader = new XlsxStreamingReader(filePath)) {
+                    reader.readSheetAt(sheetIndex, handler);
+                }
+                break;
+            case XLS:
+                try (XlsStreamingReader reader = new XlsStreamingReader(filePath)) {
+                    reader.readSheetAt(sheetIndex, handler);
+                }
+                break;
+            default:
+                new CsvReader(filePath).readSheetAt(sheetIndex, handler);
+                break;
         }
     }
     
     /**
-     * Read a sheet as a list of maps, using the first row as headers
+     * Internal method to push the rows of an in-memory sheet to a handler
      * 
-     * @param filePath Path to the Excel file
-     * @param sheetName Name of the sheet to read
-     * @return List of maps, where each map represents a row with header keys
-     * @throws IOException If there's an issue reading the file
+     * @param sheet Sheet to read
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param columns Indexes of the columns to read, or null to read all
+     * @param filter Condition rows after the header row must meet, or null to read all rows
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
+     * @param handler Callback receiving each row
      */
-    public static List<Map<String, Object>> readSheetAsMap(String filePath, String sheetName) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+    private static void streamSheet(Sheet sheet, FormulaEvaluator evaluator, BitSet columns, RowFilter filter, StringDictionary strings,
+                                    CellRowHandler handler) {
+        ReadEvents.ReadSheet event = new ReadEvents.ReadSheet();
+        event.begin();
+        long start = System.nanoTime();
+        int rows = 0;
+        long cells = 0;
+        int[] columnIndexes = new int[16];
+        
+        for (Row row : sheet) {
+            checkInterrupted();
+            if (filter != null && row.getRowNum() != 0 && !filter.matches(row, evaluator)) {
+                continue;
+            }
+            List<Object> rowData = new ArrayList<>();
             
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            for (Cell cell : row) {
+                if (columns != null && !columns.get(cell.getColumnIndex())) {
+                    continue;
+                }
+                if (rowData.size() == columnIndexes.length) {
+                    columnIndexes = Arrays.copyOf(columnIndexes, columnIndexes.length * 2);
+                }
+                columnIndexes[rowData.size()] = cell.getColumnIndex();
+                rowData.add(getCellValue(cell, evaluator, strings));
             }
             
-            return readSheetAsMap(sheet);
+            handler.handleRow(row.getRowNum(), columnIndexes, rowData);
+            rows++;
+            cells += rowData.size();
         }
+        
+        recordSheet(sheet.getSheetName(), rows, cells, start, event);
     }
     
     /**
      * Internal method to read a sheet and convert to a list of rows
      * 
      * @param sheet Sheet to read
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param columns Indexes of the columns to read, or null to read all
+     * @param filter Condition rows after the header row must meet, or null to read all rows
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
+     * @return List of rows, where each row is a list of cell values
+     */
+    private static List<List<Object>> readSheet(Sheet sheet, FormulaEvaluator evaluator, BitSet columns, RowFilter filter,
+                                                StringDictionary strings) {
+        return readSheet(sheet, evaluator, columns, filter, strings, 0, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Internal method to read a range of rows from a sheet, without decoding the rows outside the range
+     * 
+     * @param sheet Sheet to read
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param columns Indexes of the columns to read, or null to read all
+     * @param filter Condition rows after the header row must meet, or null to read all rows
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
+     * @param fromRow Number of rows to skip
+     * @param limit Maximum number of rows to return
      * @return List of rows, where each row is a list of cell values
      */
-    private static List<List<Object>> readSheet(Sheet sheet) {
+    private static List<List<Object>> readSheet(Sheet sheet, FormulaEvaluator evaluator, BitSet columns, RowFilter filter,
+                                                StringDictionary strings, int fromRow, int limit) {
+        ReadEvents.ReadSheet event = new ReadEvents.ReadSheet();
+        event.begin();
+        long start = System.nanoTime();
         List<List<Object>> sheetData = new ArrayList<>();
+        long cells = 0;
+        int position = 0;
         
         for (Row row : sheet) {
+            checkInterrupted();
+            // Only the filter's cells are decoded for rows that do not match
+            if (filter != null && row.getRowNum() != 0 && !filter.matches(row, evaluator)) {
+                continue;
+            }
+            if (position++ < fromRow) {
+                continue;
+            }
+            if (sheetData.size() == limit) {
+                break;
+            }
             List<Object> rowData = new ArrayList<>();
             
             for (Cell cell : row) {
-                rowData.add(getCellValue(cell));
+                // Cells of unselected columns are skipped before their value is decoded
+                if (columns == null || columns.get(cell.getColumnIndex())) {
+                    rowData.add(getCellValue(cell, evaluator, strings));
+                }
             }
             
             sheetData.add(rowData);
+            cells += rowData.size();
         }
         
+        recordSheet(sheet.getSheetName(), sheetData.size(), cells, start, event);
         return sheetData;
     }
     
@@ -123,60 +1609,297 @@ public class ExcelReaderUtil {
      * Internal method to read a sheet as a list of maps
      * 
      * @param sheet Sheet to read
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param columns Indexes of the columns to read, or null to read all
+     * @param filter Condition data rows must meet, or null to read all rows
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
      * @return List of maps representing rows with header keys
      */
-    private static List<Map<String, Object>> readSheetAsMap(Sheet sheet) {
+    private static List<Map<String, Object>> readSheetAsMap(Sheet sheet, FormulaEvaluator evaluator, BitSet columns, RowFilter filter,
+                                                            StringDictionary strings) {
+        ReadEvents.ReadSheet event = new ReadEvents.ReadSheet();
+        event.begin();
+        long start = System.nanoTime();
         List<Map<String, Object>> sheetData = new ArrayList<>();
         
         // Get headers from the first row
         Row headerRow = sheet.getRow(0);
         List<String> headers = new ArrayList<>();
+        int[] headerColumns = new int[headerRow.getPhysicalNumberOfCells()];
         for (Cell cell : headerRow) {
-            headers.add(cell.getStringCellValue());
+            if (columns == null || columns.get(cell.getColumnIndex())) {
+                headerColumns[headers.size()] = cell.getColumnIndex();
+                headers.add(cell.getStringCellValue());
+            }
         }
         
+        // All rows share one header-to-slot schema and only carry their values
+        SheetRow.Schema schema = SheetRow.Schema.of(headers, headerColumns);
+        
         // Read data rows
         for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            checkInterrupted();
             Row row = sheet.getRow(i);
             if (row == null) continue;
+            if (filter != null && !filter.matches(row, evaluator)) continue;
             
-            Map<String, Object> rowData = new HashMap<>();
-            for (int j = 0; j < headers.size(); j++) {
-                Cell cell = row.getCell(j);
-                rowData.put(headers.get(j), cell != null ? getCellValue(cell) : null);
+            Object[] values = new Object[schema.size()];
+            for (int slot = 0; slot < values.length; slot++) {
+                Cell cell = row.getCell(schema.getColumn(slot));
+                values[slot] = cell != null ? getCellValue(cell, evaluator, strings) : null;
             }
             
-            sheetData.add(rowData);
+            sheetData.add(new SheetRow(schema, values));
+        }
+        
+        recordSheet(sheet.getSheetName(), sheetData.size(), (long) sheetData.size() * schema.size(), start, event);
+        return sheetData;
+    }
+    
+    /**
+     * Internal method to read a sheet as a list of mapped instances
+     * 
+     * @param sheet Sheet to read
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param filter Condition data rows must meet, or null to read all rows
+     * @param mapper Mapper for the type to create
+     * @return List of instances, one per data row
+     */
+    private static <T> List<T> readSheetAs(Sheet sheet, FormulaEvaluator evaluator, RowFilter filter, RowMapper<T> mapper) {
+        ReadEvents.ReadSheet event = new ReadEvents.ReadSheet();
+        event.begin();
+        long start = System.nanoTime();
+        List<T> sheetData = new ArrayList<>();
+        
+        Row headerRow = sheet.getRow(0);
+        if (headerRow == null) {
+            throw new IllegalArgumentException("Header row not found in sheet: " + sheet.getSheetName());
+        }
+        int[] columnIndexes = new int[headerRow.getPhysicalNumberOfCells()];
+        RowMapper<T>.Binding binding = mapper.bind(columnIndexes, readHeaderRow(headerRow, columnIndexes));
+        
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            checkInterrupted();
+            Row row = sheet.getRow(i);
+            if (row == null) continue;
+            if (filter != null && !filter.matches(row, evaluator)) continue;
+            
+            sheetData.add(binding.map(row, evaluator));
         }
         
+        recordSheet(sheet.getSheetName(), sheetData.size(), 0, start, event);
         return sheetData;
     }
     
     /**
-     * Determine the workbook type based on file extension
+     * Internal method to stop a cancellable read once its thread is interrupted, e.g. because its async future was cancelled.
+     * Synchronous reads are not cancellable and carry on as before. The interrupt status is left set for the caller.
+     */
+    static void checkInterrupted() {
+        // The interrupt flag is checked first, so the thread-local is only read on an interrupt
+        if (Thread.currentThread().isInterrupted() && AsyncRead.isCancellable()) {
+            throw new CancellationException("Read interrupted");
+        }
+    }
+    
+    /**
+     * Internal method to resolve the column selection of the read options against the first row of a sheet
+     * 
+     * @param sheet Sheet to read
+     * @param options Options controlling how cells are read
+     * @return Indexes of the columns to read, or null to read all
+     */
+    private static BitSet selectColumns(Sheet sheet, ReadOptions options) {
+        if (!options.hasSelectedColumns()) {
+            return null;
+        }
+        Row headerRow = sheet.getRow(0);
+        int[] columnIndexes = new int[headerRow != null ? headerRow.getPhysicalNumberOfCells() : 0];
+        return options.resolveColumns(columnIndexes, readHeaderRow(headerRow, columnIndexes));
+    }
+    
+    /**
+     * Internal method to resolve the row filters of the read options against the first row of a sheet
+     * 
+     * @param sheet Sheet to read
+     * @param options Options controlling how cells are read
+     * @return Condition rows after the header row must meet, or null to read all rows
+     */
+    private static RowFilter filterRows(Sheet sheet, ReadOptions options) {
+        if (!options.hasFilters()) {
+            return null;
+        }
+        Row headerRow = sheet.getRow(0);
+        int[] columnIndexes = new int[headerRow != null ? headerRow.getPhysicalNumberOfCells() : 0];
+        return options.resolveFilter(columnIndexes, readHeaderRow(headerRow, columnIndexes));
+    }
+    
+    /**
+     * Internal method to create the string dictionary of one read
+     * 
+     * @param options Options controlling how cells are read
+     * @return New dictionary, or null if the options do not deduplicate strings
+     */
+    private static StringDictionary createStringDictionary(ReadOptions options) {
+        return options.isDeduplicateStrings() ? new StringDictionary() : null;
+    }
+    
+    /**
+     * Internal method to read the values of a header row
+     * 
+     * @param headerRow First row of the sheet, or null if it has none
+     * @param columnIndexes Receives the column index of each header cell
+     * @return Header values, or null if there is no header row
+     */
+    private static List<Object> readHeaderRow(Row headerRow, int[] columnIndexes) {
+        if (headerRow == null) {
+            return null;
+        }
+        List<Object> headers = new ArrayList<>();
+        for (Cell cell : headerRow) {
+            columnIndexes[headers.size()] = cell.getColumnIndex();
+            headers.add(getCellValue(cell, null));
+        }
+        return headers;
+    }
+    
+    /**
+     * Determine the workbook type from the file content and open it directly from the file.
+     * The workbook reads the file on demand (zip entries for .xlsx, a read-only FileChannel for .xls)
+     * instead of copying the whole file onto the heap first.
      * 
-     * @param fis FileInputStream of the Excel file
      * @param filePath Path to the Excel file
-     * @return Workbook object (XSSFWorkbook or HSSFWorkbook)
+     * @return Workbook object (XSSFWorkbook or HSSFWorkbook), which keeps the file open until closed
      * @throws IOException If there's an issue reading the file
      */
-    private static Workbook getWorkbook(FileInputStream fis, String filePath) throws IOException {
-        if (filePath.toLowerCase().endsWith(".xlsx")) {
-            return new XSSFWorkbook(fis);
-        } else if (filePath.toLowerCase().endsWith(".xls")) {
-            return new HSSFWorkbook(fis);
-        } else {
-            throw new IllegalArgumentException("Unsupported file format. Only .xls and .xlsx are supported.");
+    private static Workbook getWorkbook(String filePath) throws IOException {
+        ReadEvents.OpenFile event = new ReadEvents.OpenFile();
+        event.begin();
+        long start = System.nanoTime();
+        Workbook workbook = openWorkbook(filePath);
+        recordOpen(filePath, false, start, event);
+        return workbook;
+    }
+    
+    /**
+     * Internal method to open a workbook, without recording metrics
+     * 
+     * @param filePath Path to the Excel file
+     * @return Workbook object (XSSFWorkbook or HSSFWorkbook), which keeps the file open until closed
+     * @throws IOException If there's an issue reading the file
+     */
+    private static Workbook openWorkbook(String filePath) throws IOException {
+        File file = new File(filePath);
+        
+        switch (FileFormat.detect(filePath)) {
+            case XLSX: {
+                OPCPackage pkg;
+                try {
+                    pkg = OPCPackage.open(file, PackageAccess.READ);
+                } catch (InvalidFormatException e) {
+                    throw new IOException("Unable to open " + filePath, e);
+                }
+                
+                try {
+                    return new XSSFWorkbook(pkg);
+                } catch (IOException | RuntimeException e) {
+                    pkg.revert();
+                    throw e;
+                }
+            }
+            case XLS: {
+                POIFSFileSystem fs = new POIFSFileSystem(file, true);
+                
+                try {
+                    return new HSSFWorkbook(fs);
+                } catch (IOException | RuntimeException e) {
+                    fs.close();
+                    throw e;
+                }
+            }
+            default:
+                // No formulas or styles to keep, so the values are copied into an in-memory workbook
+                return new CsvReader(filePath).toWorkbook();
+        }
+    }
+    
+    /**
+     * Internal method to report an opened file to the metrics listener and JFR
+     * 
+     * @param filePath Path to the Excel file
+     * @param streaming true if the file was opened by a streaming reader
+     * @param startNanos System.nanoTime() before the file was opened
+     * @param event Event begun before the file was opened
+     */
+    private static void recordOpen(String filePath, boolean streaming, long startNanos, ReadEvents.OpenFile event) {
+        long bytes = new File(filePath).length();
+        ReadMetricsListener listener = metricsListener;
+        listener.recordTime(ReadMetricsListener.Phase.OPEN, System.nanoTime() - startNanos);
+        listener.increment(ReadMetricsListener.Count.BYTES, bytes);
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.filePath = filePath;
+            event.bytes = bytes;
+            event.streaming = streaming;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Internal method to report a read sheet to the metrics listener and JFR
+     * 
+     * @param sheetName Name of the sheet, or null if not known
+     * @param rows Number of rows returned
+     * @param cells Number of cell values returned
+     * @param startNanos System.nanoTime() before the sheet was read
+     * @param event Event begun before the sheet was read
+     */
+    private static void recordSheet(String sheetName, int rows, long cells, long startNanos, ReadEvents.ReadSheet event) {
+        ReadMetricsListener listener = metricsListener;
+        event.end();
+        boolean commit = event.shouldCommit();
+        if (listener == ReadMetricsListener.NO_OP && !commit) {
+            return;
         }
+        
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+        listener.recordTime(ReadMetricsListener.Phase.SHEET, System.nanoTime() - startNanos);
+        listener.increment(ReadMetricsListener.Count.ROWS, rows);
+        listener.increment(ReadMetricsListener.Count.CELLS, cells);
+        listener.recordHeapUsed(heapUsed);
+        
+        if (commit) {
+            event.sheetName = sheetName;
+            event.rows = rows;
+            event.cells = cells;
+            event.heapUsed = heapUsed;
+            event.commit();
+        }
+    }
+    
+    /**
+     * Extract the value from a cell, returning strings through the dictionary
+     * 
+     * @param cell Cell to extract value from
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
+     * @return Object representation of the cell value
+     */
+    private static Object getCellValue(Cell cell, FormulaEvaluator evaluator, StringDictionary strings) {
+        Object value = getCellValue(cell, evaluator);
+        return strings != null ? strings.internValue(value) : value;
     }
     
     /**
      * Extract the value from a cell based on its type
      * 
      * @param cell Cell to extract value from
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
      * @return Object representation of the cell value
      */
-    private static Object getCellValue(Cell cell) {
+    static Object getCellValue(Cell cell, FormulaEvaluator evaluator) {
         switch (cell.getCellType()) {
             case STRING:
                 return cell.getStringCellValue();
@@ -190,7 +1913,7 @@ public class ExcelReaderUtil {
                 return cell.getBooleanCellValue();
             case FORMULA:
                 // For formula cells, return the calculated value
-                return getFormulaCellValue(cell);
+                return getFormulaCellValue(cell, evaluator);
             case BLANK:
                 return null;
             default:
@@ -202,12 +1925,33 @@ public class ExcelReaderUtil {
      * Handle formula cell values
      * 
      * @param cell Formula cell
+     * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
      * @return Calculated value of the formula
      */
-    private static Object getFormulaCellValue(Cell cell) {
-        FormulaEvaluator evaluator = cell.getSheet().getWorkbook().getCreationHelper().createFormulaEvaluator();
+    private static Object getFormulaCellValue(Cell cell, FormulaEvaluator evaluator) {
+        if (evaluator == null) {
+            return getCachedFormulaCellValue(cell);
+        }
+        
+        ReadMetricsListener listener = metricsListener;
+        ReadEvents.EvaluateFormula event = new ReadEvents.EvaluateFormula();
+        event.begin();
+        long start = listener != ReadMetricsListener.NO_OP ? System.nanoTime() : 0;
+        
         CellValue cellValue = evaluator.evaluate(cell);
         
+        if (listener != ReadMetricsListener.NO_OP) {
+            listener.recordTime(ReadMetricsListener.Phase.FORMULA, System.nanoTime() - start);
+            listener.increment(ReadMetricsListener.Count.FORMULAS, 1);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.sheetName = cell.getSheet().getSheetName();
+            event.cell = cell.getAddress().formatAsString();
+            event.formula = cell.getCellFormula();
+            event.commit();
+        }
+        
         switch (cellValue.getCellType()) {
             case NUMERIC:
                 return cellValue.getNumberValue();
@@ -215,6 +1959,9 @@ public class ExcelReaderUtil {
                 return cellValue.getStringValue();
             case BOOLEAN:
                 return cellValue.getBooleanValue();
+            case ERROR:
+                // Same text as the cached result, e.g. "#DIV/0!"
+                return FormulaError.forInt(cellValue.getErrorValue()).getString();
             case BLANK:
                 return null;
             default:
@@ -222,6 +1969,42 @@ public class ExcelReaderUtil {
         }
     }
     
+    /**
+     * Read the result Excel stored for a formula cell the last time the file was saved
+     * 
+     * @param cell Formula cell
+     * @return Cached value of the formula
+     */
+    private static Object getCachedFormulaCellValue(Cell cell) {
+        switch (cell.getCachedFormulaResultType()) {
+            case NUMERIC:
+                return cell.getNumericCellValue();
+            case STRING:
+                return cell.getStringCellValue();
+            case BOOLEAN:
+                return cell.getBooleanCellValue();
+            case ERROR:
+                return FormulaError.forInt(cell.getErrorCellValue()).getString();
+            default:
+                return null;
+        }
+    }
+    
+    /**
+     * Create the formula evaluator shared by every sheet read from a workbook.
+     * Reusing one evaluator keeps its cache of evaluated cells, so shared dependencies are computed once.
+     * 
+     * @param workbook Workbook being read
+     * @param options Options controlling how cells are read
+     * @return Formula evaluator, or null if cached formula results should be used
+     */
+    private static FormulaEvaluator createFormulaEvaluator(Workbook workbook, ReadOptions options) {
+        if (options.isUseCachedFormulaResults()) {
+            return null;
+        }
+        return workbook.getCreationHelper().createFormulaEvaluator();
+    }
+    
     /**
      * Example usage method (for demonstration)
      * 
@@ -236,8 +2019,22 @@ public class ExcelReaderUtil {
      * @throws IOException If there's an issue reading the file
      */
     public static int getRowCount(String filePath, String sheetName) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+        // Read the sheet dimensions only, without parsing any cell data
+        FileFormat format = FileFormat.detect(filePath);
+        if (format == FileFormat.XLSX) {
+            try (XlsxStreamingReader reader = new XlsxStreamingReader(filePath, SharedStringsMode.LAZY)) {
+                return reader.getRowCount(sheetName);
+            }
+        } else if (format == FileFormat.CSV) {
+            return new CsvReader(filePath).getRowCount(sheetName);
+        } else {
+            int rowCount = XlsDimensionsReader.getRowCount(filePath, sheetName);
+            if (rowCount >= 0) {
+                return rowCount;
+            }
+        }
+        
+        try (Workbook workbook = getWorkbook(filePath)) {
             
             Sheet sheet = workbook.getSheet(sheetName);
             if (sheet == null) {
@@ -258,8 +2055,22 @@ public class ExcelReaderUtil {
      * @throws IOException If there's an issue reading the file
      */
     public static int getRowCountByIndex(String filePath, int sheetIndex) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+        // Read the sheet dimensions only, without parsing any cell data
+        FileFormat format = FileFormat.detect(filePath);
+        if (format == FileFormat.XLSX) {
+            try (XlsxStreamingReader reader = new XlsxStreamingReader(filePath, SharedStringsMode.LAZY)) {
+                return reader.getRowCountAt(sheetIndex);
+            }
+        } else if (format == FileFormat.CSV) {
+            return new CsvReader(filePath).getRowCountAt(sheetIndex);
+        } else {
+            int rowCount = XlsDimensionsReader.getRowCountAt(filePath, sheetIndex);
+            if (rowCount >= 0) {
+                return rowCount;
+            }
+        }
+        
+        try (Workbook workbook = getWorkbook(filePath)) {
             
             Sheet sheet = workbook.getSheetAt(sheetIndex);
             // Returns the last row index + 1 (which gives total number of rows)
@@ -267,6 +2078,17 @@ public class ExcelReaderUtil {
         }
     }
     
+    /**
+     * Get the number of rows in a specific sheet without blocking the calling thread; the read runs on the async executor
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet
+     * @return Future completed with the number of rows in the sheet (including the header row), or with the exception the read threw
+     */
+    public static CompletableFuture<Integer> getRowCountAsync(String filePath, String sheetName) {
+        return AsyncRead.start(() -> getRowCount(filePath, sheetName), getAsyncExecutor());
+    }
+    
     /**
      * Get the number of non-empty rows in a sheet
      * 
@@ -276,23 +2098,32 @@ public class ExcelReaderUtil {
      * @throws IOException If there's an issue reading the file
      */
     public static int getNonEmptyRowCount(String filePath, String sheetName) throws IOException {
-        try (FileInputStream fis = new FileInputStream(new File(filePath));
-             Workbook workbook = getWorkbook(fis, filePath)) {
+        try (Workbook workbook = getWorkbook(filePath)) {
             
             Sheet sheet = workbook.getSheet(sheetName);
             if (sheet == null) {
                 throw new IllegalArgumentException("Sheet not found: " + sheetName);
             }
             
-            int nonEmptyRowCount = 0;
-            for (Row row : sheet) {
-                if (!isRowEmpty(row)) {
-                    nonEmptyRowCount++;
-                }
+            return countNonEmptyRows(sheet);
+        }
+    }
+    
+    /**
+     * Internal method to count the non-empty rows of a sheet
+     * 
+     * @param sheet Sheet to count
+     * @return Number of non-empty rows in the sheet
+     */
+    private static int countNonEmptyRows(Sheet sheet) {
+        int nonEmptyRowCount = 0;
+        for (Row row : sheet) {
+            if (!isRowEmpty(row)) {
+                nonEmptyRowCount++;
             }
-            
-            return nonEmptyRowCount;
         }
+        
+        return nonEmptyRowCount;
     }
     
     /**
@@ -315,6 +2146,199 @@ public class ExcelReaderUtil {
         
         return true;
     }
+    
+    /**
+     * Open a workbook once so that several queries can be served without re-parsing the file
+     * 
+     * @param filePath Path to the Excel file
+     * @return Session over the parsed workbook, to be closed by the caller
+     * @throws IOException If there's an issue reading the file
+     */
+    public static WorkbookSession open(String filePath) throws IOException {
+        return open(filePath, new ReadOptions());
+    }
+    
+    /**
+     * Open a workbook once with the given read options
+     * 
+     * @param filePath Path to the Excel file
+     * @param options Options controlling how cells are read
+     * @return Session over the parsed workbook, to be closed by the caller
+     * @throws IOException If there's an issue reading the file
+     */
+    public static WorkbookSession open(String filePath, ReadOptions options) throws IOException {
+        return new WorkbookSession(getWorkbook(filePath), options);
+    }
+    
+    /**
+     * A workbook parsed once, exposing the same queries as the static methods.
+     * All queries share one formula evaluator, so formula results are cached across calls.
+     * Not thread-safe.
+     */
+    public static final class WorkbookSession implements AutoCloseable {
+        
+        private final Workbook workbook;
+        private final ReadOptions options;
+        private final FormulaEvaluator evaluator;
+        
+        private WorkbookSession(Workbook workbook, ReadOptions options) {
+            this.workbook = workbook;
+            this.options = options;
+            this.evaluator = createFormulaEvaluator(workbook, options);
+        }
+        
+        /**
+         * Read every sheet of the workbook
+         * 
+         * @return List of sheets, where each sheet is a list of rows
+         */
+        public List<List<List<Object>>> readEntireWorkbook() {
+            StringDictionary strings = createStringDictionary(options);
+            List<List<List<Object>>> allSheetsData = new ArrayList<>();
+            
+            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+                Sheet sheet = workbook.getSheetAt(i);
+                allSheetsData.add(ExcelReaderUtil.readSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                        strings));
+            }
+            
+            return allSheetsData;
+        }
+        
+        /**
+         * Read a specific sheet
+         * 
+         * @param sheetName Name of the sheet to read
+         * @return List of rows from the specified sheet
+         */
+        public List<List<Object>> readSheet(String sheetName) {
+            Sheet sheet = getSheet(sheetName);
+            return ExcelReaderUtil.readSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+        
+        /**
+         * Read one page of rows from a specific sheet, decoding only the rows of the page
+         * 
+         * @param sheetName Name of the sheet to read
+         * @param fromRow Position of the first row to return in the full readSheet result (0-based)
+         * @param limit Maximum number of rows to return
+         * @return List of rows from the specified sheet, with at most limit rows
+         */
+        public List<List<Object>> readSheet(String sheetName, int fromRow, int limit) {
+            if (fromRow < 0 || limit < 0) {
+                throw new IllegalArgumentException("Row range must not be negative: fromRow=" + fromRow + ", limit=" + limit);
+            }
+            Sheet sheet = getSheet(sheetName);
+            return ExcelReaderUtil.readSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options), fromRow, limit);
+        }
+        
+        /**
+         * Read a specific sheet by index
+         * 
+         * @param sheetIndex Index of the sheet to read (0-based)
+         * @return List of rows from the specified sheet
+         */
+        public List<List<Object>> readSheetByIndex(int sheetIndex) {
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
+            return ExcelReaderUtil.readSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+        
+        /**
+         * Read a sheet as a list of maps, using the first row as headers
+         * 
+         * @param sheetName Name of the sheet to read
+         * @return List of maps, where each map represents a row with header keys
+         */
+        public List<Map<String, Object>> readSheetAsMap(String sheetName) {
+            Sheet sheet = getSheet(sheetName);
+            return ExcelReaderUtil.readSheetAsMap(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options));
+        }
+        
+        /**
+         * Read a sheet as a list of records or objects, using the first row as headers
+         * 
+         * @param sheetName Name of the sheet to read
+         * @param type Record or class to map each data row to
+         * @return List of instances, one per data row
+         */
+        public <T> List<T> readSheetAs(String sheetName, Class<T> type) {
+            Sheet sheet = getSheet(sheetName);
+            return ExcelReaderUtil.readSheetAs(sheet, evaluator, filterRows(sheet, options), RowMapper.of(type));
+        }
+        
+        /**
+         * Push the rows of a specific sheet to a handler
+         * 
+         * @param sheetName Name of the sheet to read
+         * @param handler Callback receiving each row
+         */
+        public void streamSheet(String sheetName, RowHandler handler) {
+            Sheet sheet = getSheet(sheetName);
+            ExcelReaderUtil.streamSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options),
+                    (rowIndex, columnIndexes, rowData) -> handler.handleRow(rowIndex, rowData));
+        }
+        
+        /**
+         * Push the rows of a specific sheet by index to a handler
+         * 
+         * @param sheetIndex Index of the sheet to read (0-based)
+         * @param handler Callback receiving each row
+         */
+        public void streamSheetByIndex(int sheetIndex, RowHandler handler) {
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
+            ExcelReaderUtil.streamSheet(sheet, evaluator, selectColumns(sheet, options), filterRows(sheet, options),
+                    createStringDictionary(options),
+                    (rowIndex, columnIndexes, rowData) -> handler.handleRow(rowIndex, rowData));
+        }
+        
+        /**
+         * Get the number of rows in a specific sheet
+         * 
+         * @param sheetName Name of the sheet
+         * @return Number of rows in the sheet (including the header row)
+         */
+        public int getRowCount(String sheetName) {
+            return getSheet(sheetName).getLastRowNum() + 1;
+        }
+        
+        /**
+         * Get the number of rows in a sheet by index
+         * 
+         * @param sheetIndex Index of the sheet (0-based)
+         * @return Number of rows in the sheet (including the header row)
+         */
+        public int getRowCountByIndex(int sheetIndex) {
+            return workbook.getSheetAt(sheetIndex).getLastRowNum() + 1;
+        }
+        
+        /**
+         * Get the number of non-empty rows in a sheet
+         * 
+         * @param sheetName Name of the sheet
+         * @return Number of non-empty rows in the sheet
+         */
+        public int getNonEmptyRowCount(String sheetName) {
+            return countNonEmptyRows(getSheet(sheetName));
+        }
+        
+        @Override
+        public void close() throws IOException {
+            workbook.close();
+        }
+        
+        private Sheet getSheet(String sheetName) {
+            Sheet sheet = workbook.getSheet(sheetName);
+            if (sheet == null) {
+                throw new IllegalArgumentException("Sheet not found: " + sheetName);
+            }
+            return sheet;
+        }
+    }
 
     public static void main(String[] args) {
         try {
@@ -339,7 +2363,7 @@ public class ExcelReaderUtil {
             System.out.println("First Sheet Non-Empty Rows: " + nonEmptyRowCount);
             System.out.println("First Sheet Data Rows: " + sheetData.size());
             System.out.println("Mapped Sheet Rows: " + mappedSheetData.size());
-            
+        
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -0,0 +1,120 @@
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * Format of a file as read by ExcelReaderUtil, detected from its content rather than its extension.
+ * Only the first bytes of the file are read, plus the zip central directory of OOXML packages,
+ * so mislabelled or unsupported files are routed or rejected before any parser is opened.
+ */
+enum FileFormat {
+    
+    /** BIFF8 workbook in an OLE2 container (.xls) */
+    XLS,
+    /** SpreadsheetML package (.xlsx, .xlsm, .xltx, .xltm) */
+    XLSX,
+    /** Delimited text, read as a single sheet named after the file */
+    CSV;
+    
+    /** Bytes read to recognize the file; enough for every FileMagic signature and to tell text from binary */
+    private static final int SAMPLE_LENGTH = 512;
+    
+    /**
+     * Detect the format of a file from its first bytes
+     * 
+     * @param filePath Path to the file
+     * @return Format to read the file as
+     * @throws IOException If there's an issue reading the file
+     * @throws IllegalArgumentException If the file is not in a supported format
+     */
+    static FileFormat detect(String filePath) throws IOException {
+        File file = new File(filePath);
+        if (!file.isFile()) {
+            throw new FileNotFoundException(filePath);
+        }
+        
+        byte[] sample = readSample(file);
+        if (sample.length == 0) {
+            throw new IllegalArgumentException("File is empty: " + filePath);
+        }
+        
+        // Shorter files are padded so that every signature can be compared
+        FileMagic magic = FileMagic.valueOf(Arrays.copyOf(sample, Math.max(sample.length, SAMPLE_LENGTH)));
+        switch (magic) {
+            case OLE2:
+                return XLS;
+            case OOXML:
+                return detectPackage(file, filePath);
+            case BIFF2:
+            case BIFF3:
+            case BIFF4:
+                throw new IllegalArgumentException("Excel 2.x-4.x (" + magic + ") files are not supported: " + filePath);
+            case UNKNOWN:
+                if (isText(sample)) {
+                    return CSV;
+                }
+                break;
+            default:
+                break;
+        }
+        throw new IllegalArgumentException("Unsupported file format (" + magic + "). Only .xls, .xlsx, .xlsm, .xltx, .xltm "
+                + "and CSV files are supported: " + filePath);
+    }
+    
+    private static byte[] readSample(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] sample = new byte[SAMPLE_LENGTH];
+            int length = 0;
+            int read;
+            while (length < sample.length && (read = in.read(sample, length, sample.length - length)) > 0) {
+                length += read;
+            }
+            return Arrays.copyOf(sample, length);
+        }
+    }
+    
+    /**
+     * Tell a spreadsheet package from a binary workbook or another OOXML document, from the zip entry names only
+     */
+    private static FileFormat detectPackage(File file, String filePath) throws IOException {
+        boolean spreadsheet = false;
+        try (ZipFile zip = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.equals("xl/workbook.bin")) {
+                    throw new IllegalArgumentException("Binary workbooks (.xlsb) are not supported, save the file as .xlsx: " + filePath);
+                }
+                spreadsheet |= name.startsWith("xl/");
+            }
+        } catch (ZipException e) {
+            throw new IOException("Unable to open " + filePath, e);
+        }
+        
+        if (!spreadsheet) {
+            throw new IllegalArgumentException("Not a spreadsheet (OOXML package without a workbook): " + filePath);
+        }
+        return XLSX;
+    }
+    
+    /**
+     * @return true if the sample has no control characters other than tabs and line breaks, allowing for UTF-8 and a BOM
+     */
+    private static boolean isText(byte[] sample) {
+        for (byte b : sample) {
+            if (b >= 0 && b < 0x20 && b != '\t' && b != '\n' && b != '\r' && b != '\f') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,166 @@
+import org.apache.poi.util.XMLHelper;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Shared strings table of an .xlsx file spilled to a read-only memory-mapped temp file.
+ * The strings are written once as UTF-8 together with an offset index, so the heap holds no strings at all
+ * and the operating system pages the table in and out as needed. Lookups are thread-safe.
+ */
+final class MappedSharedStrings {
+    
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+    
+    /** A single mapping is limited to 2 GB, so larger files are mapped in segments of this size */
+    private static final int SEGMENT_BITS = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+    
+    private final MappedByteBuffer[] data;
+    private final MappedByteBuffer[] offsets;
+    private final int size;
+    
+    private MappedSharedStrings(MappedByteBuffer[] data, MappedByteBuffer[] offsets, int size) {
+        this.data = data;
+        this.offsets = offsets;
+        this.size = size;
+    }
+    
+    /**
+     * Parse a sharedStrings.xml part into a mapped temp file
+     * 
+     * @param sharedStringsData Content of the sharedStrings.xml part
+     * @return Mapped table
+     * @throws IOException If there's an issue reading the part or writing the temp file
+     */
+    static MappedSharedStrings load(InputStream sharedStringsData) throws IOException {
+        Path dataFile = Files.createTempFile("shared-strings", ".dat");
+        Path offsetFile = Files.createTempFile("shared-strings", ".idx");
+        try {
+            int size;
+            try (OutputStream dataOut = new BufferedOutputStream(Files.newOutputStream(dataFile));
+                 DataOutputStream offsetOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(offsetFile)))) {
+                size = writeStrings(sharedStringsData, dataOut, offsetOut);
+            }
+            return new MappedSharedStrings(map(dataFile), map(offsetFile), size);
+        } finally {
+            // The mappings stay valid once the files are unlinked; where that is not allowed, remove them on exit
+            delete(dataFile);
+            delete(offsetFile);
+        }
+    }
+    
+    /**
+     * @return Number of strings in the table
+     */
+    int size() {
+        return size;
+    }
+    
+    /**
+     * @param index Index of the string (the value of a cell of type "s")
+     * @return String at that index
+     */
+    String getString(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Shared string index " + index + " is out of range (0.." + (size - 1) + ")");
+        }
+        
+        long start = offset(index);
+        byte[] bytes = new byte[(int) (offset(index + 1) - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            long position = start + i;
+            bytes[i] = data[(int) (position >>> SEGMENT_BITS)].get((int) (position & SEGMENT_MASK));
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    private long offset(int index) {
+        // Segments are a multiple of 8 bytes, so an offset never straddles two of them
+        long position = 8L * index;
+        return offsets[(int) (position >>> SEGMENT_BITS)].getLong((int) (position & SEGMENT_MASK));
+    }
+    
+    /**
+     * Write the text of each si element, skipping phonetic runs and decoding _xHHHH_ escapes
+     * as XSSFRichTextString.getString does
+     * 
+     * @return Number of strings written
+     */
+    private static int writeStrings(InputStream sharedStringsData, OutputStream dataOut, DataOutputStream offsetOut) throws IOException {
+        int size = 0;
+        long offset = 0;
+        offsetOut.writeLong(offset);
+        
+        try {
+            XMLStreamReader xml = XML_INPUT_FACTORY.createXMLStreamReader(sharedStringsData);
+            try {
+                StringBuilder text = new StringBuilder();
+                int phoneticDepth = 0;
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String localName = xml.getLocalName();
+                        if ("si".equals(localName)) {
+                            text.setLength(0);
+                        } else if ("rPh".equals(localName)) {
+                            phoneticDepth++;
+                        } else if ("t".equals(localName) && phoneticDepth == 0) {
+                            text.append(xml.getElementText());
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String localName = xml.getLocalName();
+                        if ("rPh".equals(localName)) {
+                            phoneticDepth--;
+                        } else if ("si".equals(localName)) {
+                            byte[] bytes = XlsxStreamingReader.decodeEscapes(text.toString()).getBytes(StandardCharsets.UTF_8);
+                            dataOut.write(bytes);
+                            offset += bytes.length;
+                            offsetOut.writeLong(offset);
+                            size++;
+                        }
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Unable to parse shared strings", e);
+        }
+        
+        return size;
+    }
+    
+    private static MappedByteBuffer[] map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            MappedByteBuffer[] segments = new MappedByteBuffer[(int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS)];
+            for (int i = 0; i < segments.length; i++) {
+                long position = (long) i << SEGMENT_BITS;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_MASK + 1, length - position));
+            }
+            return segments;
+        }
+    }
+    
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            file.toFile().deleteOnExit();
+        }
+    }
+}
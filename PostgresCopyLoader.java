@@ -0,0 +1,442 @@
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Loads the rows of a sheet into a PostgreSQL table with COPY FROM STDIN.
+ * Rows are read with the streaming readers and written straight into the COPY stream, so memory stays flat
+ * regardless of row count. The first row of the sheet holds the headers, which are mapped to table columns
+ * with column(). Every batchSize rows the COPY is ended and committed, so a failure only rolls back the current batch.
+ * On a connection that is already in a transaction, batches run under savepoints instead and the caller commits.
+ */
+public class PostgresCopyLoader {
+    
+    /**
+     * Type of a target column, deciding how cell values are written into the COPY stream
+     */
+    public enum ColumnType {
+        /** text, varchar; numbers are written without a trailing .0 when whole */
+        TEXT,
+        /** smallint, integer, bigint; numbers must be whole */
+        INTEGER,
+        /** numeric, real, double precision */
+        NUMERIC,
+        BOOLEAN,
+        /** date; date cells are written as their local date */
+        DATE,
+        /** timestamp; date cells are written as their local date and time */
+        TIMESTAMP
+    }
+    
+    /** Characters buffered before they are sent to the server */
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    
+    private final String tableName;
+    private final List<ColumnMapping> mappings = new ArrayList<>();
+    private int batchSize = 100_000;
+    private boolean skipBlankRows = true;
+    
+    /**
+     * @param tableName Target table, as written in SQL (e.g. public.holidays)
+     */
+    public PostgresCopyLoader(String tableName) {
+        this.tableName = tableName;
+    }
+    
+    /**
+     * Map a header to a table column of the same name. The header is quoted as an identifier,
+     * so it must match the column name exactly, including case and spaces.
+     * 
+     * @param header Header of the column in the first row of the sheet
+     * @param type Type of the target column
+     * @return This loader
+     */
+    public PostgresCopyLoader column(String header, ColumnType type) {
+        return column(header, quoteIdentifier(header), type);
+    }
+    
+    /**
+     * Map a header to a table column
+     * 
+     * @param header Header of the column in the first row of the sheet
+     * @param columnName Target column, as written in SQL
+     * @param type Type of the target column
+     * @return This loader
+     */
+    public PostgresCopyLoader column(String header, String columnName, ColumnType type) {
+        mappings.add(new ColumnMapping(header, columnName, type));
+        return this;
+    }
+    
+    /**
+     * @return Identifier in double quotes, with embedded double quotes doubled
+     */
+    private static String quoteIdentifier(String identifier) {
+        return '"' + identifier.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * Commit after every batchSize rows. Larger batches load faster, smaller batches lose less work on a failure.
+     * 
+     * @param batchSize Number of rows per COPY and transaction (or savepoint, see load)
+     * @return This loader
+     */
+    public PostgresCopyLoader batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+    
+    /**
+     * Skip rows whose mapped cells are all blank (the default), instead of loading them as rows of nulls
+     * 
+     * @param skipBlankRows true to skip blank rows
+     * @return This loader
+     */
+    public PostgresCopyLoader skipBlankRows(boolean skipBlankRows) {
+        this.skipBlankRows = skipBlankRows;
+        return this;
+    }
+    
+    /**
+     * Load a sheet into the table.
+     * If the connection is in auto-commit mode, the loader turns auto-commit off, commits each batch, rolls back
+     * the current batch on a failure and turns auto-commit back on afterwards. Batches committed before a failure
+     * stay in the table. If auto-commit is off, the transaction is the caller's: the loader never commits or rolls
+     * it back, but runs each batch under a savepoint that is released once the batch is written and rolled back to
+     * on a failure.
+     * 
+     * @param connection Connection to the PostgreSQL database
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet to load
+     * @return Number of rows loaded
+     * @throws IOException If there's an issue reading the file
+     * @throws SQLException If there's an issue writing to the database
+     */
+    public long load(Connection connection, String filePath, String sheetName) throws IOException, SQLException {
+        if (mappings.isEmpty()) {
+            throw new IllegalStateException("No columns mapped");
+        }
+        
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        // Only a transaction the loader started itself is committed or rolled back by it
+        boolean ownTransaction = connection.getAutoCommit();
+        if (ownTransaction) {
+            connection.setAutoCommit(false);
+        }
+        
+        try (ExcelReaderUtil.RowCursor cursor = ExcelReaderUtil.openCursor(filePath, sheetName)) {
+            if (!cursor.next() || cursor.getRowIndex() != 0) {
+                throw new IllegalArgumentException("Header row not found in sheet: " + sheetName);
+            }
+            int[] mappingByColumn = mapHeaders(cursor.getColumnIndexes(), cursor.getRowData());
+            
+            return copyRows(connection, ownTransaction, copyManager, cursor, mappingByColumn);
+        } finally {
+            if (ownTransaction) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+    
+    /**
+     * Resolve each mapped header to its column in the header row
+     * 
+     * @return Mapping index for each column index of the sheet, or -1 for unmapped columns
+     */
+    private int[] mapHeaders(int[] columnIndexes, List<Object> headerRow) {
+        int[] mappingByColumn = new int[0];
+        
+        for (int m = 0; m < mappings.size(); m++) {
+            String header = mappings.get(m).header;
+            int column = -1;
+            // As in readSheetAsMap, a repeated header refers to its last column
+            for (int i = 0; i < headerRow.size(); i++) {
+                Object value = headerRow.get(i);
+                if (header.equals(value != null ? value.toString() : "")) {
+                    column = columnIndexes[i];
+                }
+            }
+            if (column < 0) {
+                throw new IllegalArgumentException("Header not found in sheet: " + header);
+            }
+            
+            if (column >= mappingByColumn.length) {
+                int length = mappingByColumn.length;
+                mappingByColumn = Arrays.copyOf(mappingByColumn, column + 1);
+                Arrays.fill(mappingByColumn, length, mappingByColumn.length, -1);
+            }
+            if (mappingByColumn[column] >= 0) {
+                throw new IllegalArgumentException("Header mapped more than once: " + header);
+            }
+            mappingByColumn[column] = m;
+        }
+        
+        return mappingByColumn;
+    }
+    
+    /**
+     * Copy the data rows of the cursor in batches, committing after each batch, or releasing its savepoint
+     * when the transaction is the caller's
+     */
+    private long copyRows(Connection connection, boolean ownTransaction, CopyManager copyManager,
+                          ExcelReaderUtil.RowCursor cursor, int[] mappingByColumn) throws IOException, SQLException {
+        String sql = copySql();
+        Object[] values = new Object[mappings.size()];
+        StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 1024);
+        long rowCount = 0;
+        int batchRowCount = 0;
+        CopyIn copyIn = null;
+        Savepoint savepoint = null;
+        
+        try {
+            while (cursor.next()) {
+                Arrays.fill(values, null);
+                boolean blank = true;
+                int[] columnIndexes = cursor.getColumnIndexes();
+                List<Object> rowData = cursor.getRowData();
+                for (int i = 0; i < rowData.size(); i++) {
+                    int column = columnIndexes[i];
+                    if (column < mappingByColumn.length && mappingByColumn[column] >= 0 && rowData.get(i) != null) {
+                        values[mappingByColumn[column]] = rowData.get(i);
+                        blank = false;
+                    }
+                }
+                if (blank && skipBlankRows) {
+                    continue;
+                }
+                
+                if (copyIn == null) {
+                    if (!ownTransaction) {
+                        savepoint = connection.setSavepoint();
+                    }
+                    copyIn = copyManager.copyIn(sql);
+                }
+                appendRow(buffer, cursor.getRowIndex(), values);
+                rowCount++;
+                batchRowCount++;
+                
+                if (batchRowCount == batchSize) {
+                    flush(copyIn, buffer);
+                    copyIn.endCopy();
+                    copyIn = null;
+                    endBatch(connection, ownTransaction, savepoint);
+                    savepoint = null;
+                    batchRowCount = 0;
+                } else if (buffer.length() >= FLUSH_THRESHOLD) {
+                    flush(copyIn, buffer);
+                }
+            }
+            
+            if (copyIn != null) {
+                flush(copyIn, buffer);
+                copyIn.endCopy();
+                copyIn = null;
+                endBatch(connection, ownTransaction, savepoint);
+                savepoint = null;
+            }
+            
+            return rowCount;
+        } catch (IOException | SQLException | RuntimeException e) {
+            try {
+                if (copyIn != null && copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                if (ownTransaction) {
+                    connection.rollback();
+                } else if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Commit the batch, or release its savepoint when the transaction is the caller's
+     */
+    private static void endBatch(Connection connection, boolean ownTransaction, Savepoint savepoint) throws SQLException {
+        if (ownTransaction) {
+            connection.commit();
+        } else {
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+    
+    /**
+     * @return COPY statement for the mapped columns, in text format
+     */
+    String copySql() {
+        StringBuilder sql = new StringBuilder("COPY ").append(tableName).append(" (");
+        for (int m = 0; m < mappings.size(); m++) {
+            if (m > 0) {
+                sql.append(", ");
+            }
+            sql.append(mappings.get(m).columnName);
+        }
+        return sql.append(") FROM STDIN").toString();
+    }
+    
+    /**
+     * Append one row in COPY text format: tab-separated, \N for null, newline-terminated
+     */
+    void appendRow(StringBuilder buffer, int rowIndex, Object[] values) {
+        for (int m = 0; m < values.length; m++) {
+            if (m > 0) {
+                buffer.append('\t');
+            }
+            if (values[m] == null) {
+                buffer.append("\\N");
+            } else {
+                appendEscaped(buffer, coerce(values[m], mappings.get(m), rowIndex));
+            }
+        }
+        buffer.append('\n');
+    }
+    
+    /**
+     * Convert a cell value to the text form PostgreSQL parses for the column type
+     * 
+     * @param value Non-null cell value, in the form readSheet returns it
+     * @param mapping Target column
+     * @param rowIndex Index of the row in the sheet (0-based), for error messages
+     * @return Text form of the value
+     */
+    private static String coerce(Object value, ColumnMapping mapping, int rowIndex) {
+        switch (mapping.type) {
+            case INTEGER:
+                if (value instanceof Double) {
+                    double number = (Double) value;
+                    // (double) Long.MAX_VALUE rounds up to 2^63, the first whole value a long cannot hold
+                    if (number != Math.rint(number) || number < Long.MIN_VALUE || number >= Long.MAX_VALUE) {
+                        throw conversionError(value, mapping, rowIndex);
+                    }
+                    return Long.toString((long) number);
+                } else if (value instanceof Boolean) {
+                    return (Boolean) value ? "1" : "0";
+                } else if (value instanceof Date) {
+                    throw conversionError(value, mapping, rowIndex);
+                }
+                return value.toString().trim();
+            case NUMERIC:
+                if (value instanceof Boolean) {
+                    return (Boolean) value ? "1" : "0";
+                } else if (value instanceof Date) {
+                    throw conversionError(value, mapping, rowIndex);
+                }
+                return value.toString().trim();
+            case BOOLEAN:
+                if (value instanceof Double) {
+                    return (Double) value != 0 ? "t" : "f";
+                } else if (value instanceof Boolean) {
+                    return (Boolean) value ? "t" : "f";
+                } else if (value instanceof Date) {
+                    throw conversionError(value, mapping, rowIndex);
+                }
+                return value.toString().trim();
+            case DATE:
+                if (value instanceof Date) {
+                    return toLocalDateTime((Date) value).toLocalDate().toString();
+                } else if (value instanceof Double || value instanceof Boolean) {
+                    throw conversionError(value, mapping, rowIndex);
+                }
+                return value.toString().trim();
+            case TIMESTAMP:
+                if (value instanceof Date) {
+                    return toLocalDateTime((Date) value).toString();
+                } else if (value instanceof Double || value instanceof Boolean) {
+                    throw conversionError(value, mapping, rowIndex);
+                }
+                return value.toString().trim();
+            default:
+                if (value instanceof Double) {
+                    double number = (Double) value;
+                    // Whole numbers are written as 42 rather than 42.0, which is how they show in Excel
+                    if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+                        return Long.toString((long) number);
+                    }
+                } else if (value instanceof Date) {
+                    return toLocalDateTime((Date) value).toString();
+                }
+                return value.toString();
+        }
+    }
+    
+    private static IllegalArgumentException conversionError(Object value, ColumnMapping mapping, int rowIndex) {
+        return new IllegalArgumentException("Cannot load " + value + " from row " + (rowIndex + 1) + ", column "
+                + mapping.header + " into " + mapping.type + " column " + mapping.columnName);
+    }
+    
+    /**
+     * Dates are read in the default time zone, so they are converted back in that zone
+     */
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+    
+    /**
+     * Append a value with the backslash escapes of the COPY text format
+     */
+    private static void appendEscaped(StringBuilder buffer, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                    buffer.append("\\\\");
+                    break;
+                case '\t':
+                    buffer.append("\\t");
+                    break;
+                case '\n':
+                    buffer.append("\\n");
+                    break;
+                case '\r':
+                    buffer.append("\\r");
+                    break;
+                default:
+                    buffer.append(c);
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * Send the buffered rows to the server
+     */
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.length() > 0) {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+    
+    private static final class ColumnMapping {
+        
+        private final String header;
+        private final String columnName;
+        private final ColumnType type;
+        
+        ColumnMapping(String header, String columnName, ColumnType type) {
+            this.header = header;
+            this.columnName = columnName;
+            this.type = type;
+        }
+    }
+}
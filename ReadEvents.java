@@ -0,0 +1,70 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JDK Flight Recorder events emitted by ExcelReaderUtil reads, for profiling with JMC or "jfr print".
+ * They are disabled unless a recording enables them, e.g. with
+ * -XX:StartFlightRecording:settings=profile or by enabling the "Excel Reader" category.
+ */
+final class ReadEvents {
+    
+    private ReadEvents() {
+    }
+    
+    @Name("excelreader.OpenFile")
+    @Label("Open Excel File")
+    @Category("Excel Reader")
+    @Description("Opening a workbook, or the shared strings and styles of a streamed file")
+    static final class OpenFile extends Event {
+        
+        @Label("File")
+        String filePath;
+        
+        @Label("Size")
+        @DataAmount
+        long bytes;
+        
+        @Label("Streaming")
+        boolean streaming;
+    }
+    
+    @Name("excelreader.ReadSheet")
+    @Label("Read Excel Sheet")
+    @Category("Excel Reader")
+    @Description("Iterating a sheet and converting its cells")
+    static final class ReadSheet extends Event {
+        
+        @Label("Sheet")
+        String sheetName;
+        
+        @Label("Rows")
+        int rows;
+        
+        @Label("Cells")
+        long cells;
+        
+        @Label("Heap Used")
+        @DataAmount
+        long heapUsed;
+    }
+    
+    @Name("excelreader.EvaluateFormula")
+    @Label("Evaluate Excel Formula")
+    @Category("Excel Reader")
+    @Description("Evaluating a single formula cell")
+    static final class EvaluateFormula extends Event {
+        
+        @Label("Sheet")
+        String sheetName;
+        
+        @Label("Cell")
+        String cell;
+        
+        @Label("Formula")
+        String formula;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Receives timings and counts from ExcelReaderUtil reads, once installed with ExcelReaderUtil.setMetricsListener.
+ * Each phase and count carries a Micrometer-style meter name, so forwarding to a MeterRegistry takes a few lines:
+ * <pre>
+ * ExcelReaderUtil.setMetricsListener(new ReadMetricsListener() {
+ *     public void recordTime(Phase phase, long durationNanos) {
+ *         registry.timer(phase.getMeterName()).record(durationNanos, TimeUnit.NANOSECONDS);
+ *     }
+ *     public void increment(Count count, long amount) {
+ *         registry.counter(count.getMeterName()).increment(amount);
+ *     }
+ *     public void recordHeapUsed(long bytes) {
+ *         registry.summary(HEAP_USED_METER_NAME).record(bytes);
+ *     }
+ * });
+ * </pre>
+ * Methods are called on the reading threads, possibly several at once, so implementations must be thread-safe
+ * and cheap. Every method does nothing by default.
+ */
+public interface ReadMetricsListener {
+    
+    /** Listener that ignores everything; installed by default */
+    ReadMetricsListener NO_OP = new ReadMetricsListener() {
+    };
+    
+    /** Meter name for the heap sizes passed to recordHeapUsed */
+    String HEAP_USED_METER_NAME = "excel.read.heap.used";
+    
+    /**
+     * Timed phases of a read
+     */
+    enum Phase {
+        /** Opening a file: loading the workbook, or the shared strings and styles for the streaming readers */
+        OPEN("excel.read.open"),
+        /** Iterating a sheet and converting its cells, including formula evaluation */
+        SHEET("excel.read.sheet"),
+        /** Evaluating a single formula cell */
+        FORMULA("excel.read.formula");
+        
+        private final String meterName;
+        
+        Phase(String meterName) {
+            this.meterName = meterName;
+        }
+        
+        /**
+         * @return Name of the timer for this phase
+         */
+        public String getMeterName() {
+            return meterName;
+        }
+    }
+    
+    /**
+     * Counted quantities of a read
+     */
+    enum Count {
+        /** Rows returned */
+        ROWS("excel.read.rows"),
+        /** Cell values returned */
+        CELLS("excel.read.cells"),
+        /** Size of the files opened */
+        BYTES("excel.read.bytes"),
+        /** Formula cells evaluated (cached formula results are not counted) */
+        FORMULAS("excel.read.formulas");
+        
+        private final String meterName;
+        
+        Count(String meterName) {
+            this.meterName = meterName;
+        }
+        
+        /**
+         * @return Name of the counter for this quantity
+         */
+        public String getMeterName() {
+            return meterName;
+        }
+    }
+    
+    /**
+     * @param phase Phase that finished
+     * @param durationNanos Time the phase took, in nanoseconds
+     */
+    default void recordTime(Phase phase, long durationNanos) {
+    }
+    
+    /**
+     * @param count Quantity that grew
+     * @param amount Amount it grew by
+     */
+    default void increment(Count count, long amount) {
+    }
+    
+    /**
+     * Called after each sheet is read, with the heap in use at that point (including garbage not yet collected)
+     * 
+     * @param bytes Used heap, in bytes
+     */
+    default void recordHeapUsed(long bytes) {
+    }
+}
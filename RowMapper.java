@@ -0,0 +1,457 @@
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Maps sheet rows to records, or to classes with @ExcelColumn fields, for ExcelReaderUtil.readSheetAs.
+ * The constructor and field setters of a type are bound once into a single method handle that reads each value
+ * from a typed row buffer, so numeric and boolean cells reach primitive fields without boxing and no reflection
+ * happens per row. Mappers are created once per class and shared; bindings to a header row are per read.
+ */
+final class RowMapper<T> {
+    
+    private static final ClassValue<RowMapper<?>> MAPPERS = new ClassValue<RowMapper<?>>() {
+        @Override
+        protected RowMapper<?> computeValue(Class<?> type) {
+            return new RowMapper<>(type);
+        }
+    };
+    
+    /**
+     * Array of the row buffer a property is held in
+     */
+    private enum Slot {
+        DOUBLE, LONG, INT, BOOLEAN, OBJECT
+    }
+    
+    private final Class<T> type;
+    private final String[] headers;
+    private final String[] propertyNames;
+    private final Class<?>[] propertyTypes;
+    private final Slot[] slots;
+    
+    /** Creates an instance from a filled row buffer: (RowBuffer)Object */
+    private final MethodHandle factory;
+    
+    private RowMapper(Class<T> type) {
+        this.type = type;
+        
+        MethodHandles.Lookup lookup = privateLookup(type);
+        try {
+            if (type.isRecord()) {
+                RecordComponent[] components = type.getRecordComponents();
+                headers = new String[components.length];
+                propertyNames = new String[components.length];
+                propertyTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    ExcelColumn column = components[i].getAnnotation(ExcelColumn.class);
+                    headers[i] = column != null ? column.value() : components[i].getName();
+                    propertyNames[i] = components[i].getName();
+                    propertyTypes[i] = components[i].getType();
+                }
+                slots = slotsOf(propertyTypes);
+                factory = recordFactory(lookup);
+            } else {
+                if (Modifier.isAbstract(type.getModifiers())) {
+                    throw new IllegalArgumentException("Cannot map rows to abstract type " + type.getName());
+                }
+                List<Field> fields = annotatedFields(type);
+                headers = new String[fields.size()];
+                propertyNames = new String[fields.size()];
+                propertyTypes = new Class<?>[fields.size()];
+                for (int i = 0; i < fields.size(); i++) {
+                    headers[i] = fields.get(i).getAnnotation(ExcelColumn.class).value();
+                    propertyNames[i] = fields.get(i).getName();
+                    propertyTypes[i] = fields.get(i).getType();
+                }
+                slots = slotsOf(propertyTypes);
+                factory = classFactory(lookup, fields);
+            }
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(type.getName() + " needs a " + (type.isRecord() ? "canonical" : "no-argument")
+                    + " constructor to map rows to it", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName(), e);
+        }
+    }
+    
+    /**
+     * @param type Record, or class with @ExcelColumn fields and a no-argument constructor
+     * @return Mapper for the type, created on first use
+     * @throws IllegalArgumentException If rows cannot be mapped to the type
+     */
+    @SuppressWarnings("unchecked")
+    static <T> RowMapper<T> of(Class<T> type) {
+        return (RowMapper<T>) MAPPERS.get(type);
+    }
+    
+    /**
+     * Resolve the mapped headers against the header row of a sheet.
+     * As in readSheetAsMap, a repeated header refers to its last column.
+     * 
+     * @param columnIndexes Column index of each header cell
+     * @param headerRow Header values
+     * @return Binding that maps the rows of the sheet; not thread-safe
+     * @throws IllegalArgumentException If a mapped header is not in the header row
+     */
+    Binding bind(int[] columnIndexes, List<Object> headerRow) {
+        int[] columns = new int[headers.length];
+        for (int p = 0; p < headers.length; p++) {
+            columns[p] = -1;
+            for (int i = 0; i < headerRow.size(); i++) {
+                Object value = headerRow.get(i);
+                if (headers[p].equals(value != null ? value.toString() : "")) {
+                    columns[p] = columnIndexes[i];
+                }
+            }
+            if (columns[p] < 0) {
+                throw new IllegalArgumentException("Header not found in sheet: " + headers[p]);
+            }
+        }
+        return new Binding(columns);
+    }
+    
+    /**
+     * Mapper bound to the columns of one sheet, with its own row buffer
+     */
+    final class Binding {
+        
+        private final int[] columns;
+        private final RowBuffer buffer = new RowBuffer(headers.length);
+        
+        private Binding(int[] columns) {
+            this.columns = columns;
+        }
+        
+        /**
+         * @param row Data row to map
+         * @param evaluator Formula evaluator shared by the workbook, or null to use cached formula results
+         * @return New instance holding the row's values; blank cells leave primitives at 0 or false and objects null
+         * @throws IllegalArgumentException If a cell cannot be converted to its property's type
+         */
+        T map(Row row, FormulaEvaluator evaluator) {
+            for (int p = 0; p < columns.length; p++) {
+                Cell cell = row.getCell(columns[p]);
+                try {
+                    fill(p, cell, evaluator);
+                } catch (IllegalArgumentException | ArithmeticException e) {
+                    throw conversionError(cell, evaluator, row.getRowNum(), p, e);
+                }
+            }
+            
+            try {
+                return type.cast((Object) factory.invokeExact(buffer));
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to create " + type.getName(), e);
+            }
+        }
+        
+        private void fill(int p, Cell cell, FormulaEvaluator evaluator) {
+            boolean blank = cell == null || cell.getCellType() == CellType.BLANK;
+            switch (slots[p]) {
+                case DOUBLE:
+                    buffer.doubles[p] = blank ? 0 : doubleValue(cell, evaluator);
+                    break;
+                case LONG:
+                    buffer.longs[p] = blank ? 0 : wholeNumber(doubleValue(cell, evaluator), Long.MIN_VALUE, Long.MAX_VALUE);
+                    break;
+                case INT:
+                    buffer.ints[p] = blank ? 0
+                            : (int) wholeNumber(doubleValue(cell, evaluator), minValue(propertyTypes[p]), maxValue(propertyTypes[p]));
+                    break;
+                case BOOLEAN:
+                    buffer.booleans[p] = !blank && booleanValue(cell, evaluator);
+                    break;
+                default:
+                    buffer.objects[p] = blank ? null : convert(ExcelReaderUtil.getCellValue(cell, evaluator), propertyTypes[p]);
+                    break;
+            }
+        }
+        
+        private IllegalArgumentException conversionError(Cell cell, FormulaEvaluator evaluator, int rowIndex, int p,
+                                                         RuntimeException cause) {
+            Object value = cell != null ? ExcelReaderUtil.getCellValue(cell, evaluator) : null;
+            return new IllegalArgumentException("Cannot map " + value + " from row " + (rowIndex + 1) + ", column " + headers[p]
+                    + " to " + propertyTypes[p].getSimpleName() + " " + propertyNames[p], cause);
+        }
+    }
+    
+    /**
+     * Values of the row being mapped, one array element per property in the array of its slot
+     */
+    private static final class RowBuffer {
+        
+        final double[] doubles;
+        final long[] longs;
+        final int[] ints;
+        final boolean[] booleans;
+        final Object[] objects;
+        
+        RowBuffer(int size) {
+            doubles = new double[size];
+            longs = new long[size];
+            ints = new int[size];
+            booleans = new boolean[size];
+            objects = new Object[size];
+        }
+    }
+    
+    /**
+     * Numeric cells are read as primitives; other cells go through their boxed value
+     */
+    private static double doubleValue(Cell cell, FormulaEvaluator evaluator) {
+        if (cell.getCellType() == CellType.NUMERIC) {
+            return cell.getNumericCellValue();
+        }
+        return toDouble(ExcelReaderUtil.getCellValue(cell, evaluator));
+    }
+    
+    private static boolean booleanValue(Cell cell, FormulaEvaluator evaluator) {
+        if (cell.getCellType() == CellType.BOOLEAN) {
+            return cell.getBooleanCellValue();
+        }
+        Object value = ExcelReaderUtil.getCellValue(cell, evaluator);
+        return value != null && toBoolean(value);
+    }
+    
+    private static double toDouble(Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Double) {
+            return (Double) value;
+        } else if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        } else if (value instanceof String) {
+            return Double.parseDouble(((String) value).trim());
+        }
+        throw new IllegalArgumentException("Not a number: " + value);
+    }
+    
+    private static boolean toBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        } else if (value instanceof Double) {
+            return (Double) value != 0;
+        } else if (value instanceof String) {
+            String text = ((String) value).trim();
+            if ("true".equalsIgnoreCase(text)) {
+                return true;
+            } else if ("false".equalsIgnoreCase(text)) {
+                return false;
+            }
+        }
+        throw new IllegalArgumentException("Not a boolean: " + value);
+    }
+    
+    private static long wholeNumber(double number, long min, long max) {
+        if (number != Math.rint(number) || number < min || number > max) {
+            throw new ArithmeticException("Not a whole number in range: " + number);
+        }
+        return (long) number;
+    }
+    
+    /**
+     * Convert a boxed cell value, in the form readSheet returns it, to a property's object type
+     */
+    private static Object convert(Object value, Class<?> type) {
+        if (value == null || type == Object.class) {
+            return value;
+        } else if (type == String.class) {
+            if (value instanceof Double) {
+                double number = (Double) value;
+                // Whole numbers are mapped as "42" rather than "42.0", which is how they show in Excel
+                if (number == Math.rint(number) && Math.abs(number) < 1e15) {
+                    return Long.toString((long) number);
+                }
+            } else if (value instanceof Date) {
+                return toLocalDateTime((Date) value).toString();
+            }
+            return value.toString();
+        } else if (type == Double.class) {
+            return toDouble(value);
+        } else if (type == Float.class) {
+            return (float) toDouble(value);
+        } else if (type == Long.class) {
+            return wholeNumber(toDouble(value), Long.MIN_VALUE, Long.MAX_VALUE);
+        } else if (type == Integer.class) {
+            return (int) wholeNumber(toDouble(value), Integer.MIN_VALUE, Integer.MAX_VALUE);
+        } else if (type == Short.class) {
+            return (short) wholeNumber(toDouble(value), Short.MIN_VALUE, Short.MAX_VALUE);
+        } else if (type == Byte.class) {
+            return (byte) wholeNumber(toDouble(value), Byte.MIN_VALUE, Byte.MAX_VALUE);
+        } else if (type == Boolean.class) {
+            return toBoolean(value);
+        } else if (type == BigDecimal.class) {
+            return value instanceof String ? new BigDecimal(((String) value).trim()) : BigDecimal.valueOf(toDouble(value));
+        } else if (type == LocalDateTime.class && value instanceof Date) {
+            return toLocalDateTime((Date) value);
+        } else if (type == LocalDate.class && value instanceof Date) {
+            return toLocalDateTime((Date) value).toLocalDate();
+        } else if (type.isEnum() && value instanceof String) {
+            return toEnum(type, ((String) value).trim());
+        } else if (type.isInstance(value)) {
+            return value;
+        }
+        throw new IllegalArgumentException("Not a " + type.getSimpleName() + ": " + value);
+    }
+    
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object toEnum(Class<?> type, String name) {
+        return Enum.valueOf((Class) type, name);
+    }
+    
+    /**
+     * Dates are read in the default time zone, so they are converted back in that zone
+     */
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+    
+    private static long minValue(Class<?> type) {
+        return type == byte.class ? Byte.MIN_VALUE : type == short.class ? Short.MIN_VALUE : Integer.MIN_VALUE;
+    }
+    
+    private static long maxValue(Class<?> type) {
+        return type == byte.class ? Byte.MAX_VALUE : type == short.class ? Short.MAX_VALUE : Integer.MAX_VALUE;
+    }
+    
+    private static Slot[] slotsOf(Class<?>[] types) {
+        Slot[] slots = new Slot[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == double.class || type == float.class) {
+                slots[i] = Slot.DOUBLE;
+            } else if (type == long.class) {
+                slots[i] = Slot.LONG;
+            } else if (type == int.class || type == short.class || type == byte.class) {
+                slots[i] = Slot.INT;
+            } else if (type == boolean.class) {
+                slots[i] = Slot.BOOLEAN;
+            } else if (type == char.class) {
+                throw new IllegalArgumentException("Cannot map cells to char properties");
+            } else {
+                slots[i] = Slot.OBJECT;
+            }
+        }
+        return slots;
+    }
+    
+    /**
+     * @return Fields annotated with @ExcelColumn, superclass fields first
+     */
+    private static List<Field> annotatedFields(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+        
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                if (field.isAnnotationPresent(ExcelColumn.class)) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                        throw new IllegalArgumentException("@ExcelColumn field must not be static or final: " + field);
+                    }
+                    fields.add(field);
+                }
+            }
+        }
+        if (fields.isEmpty()) {
+            throw new IllegalArgumentException(type.getName() + " has no @ExcelColumn fields");
+        }
+        return fields;
+    }
+    
+    /**
+     * Bind the canonical constructor to the row buffer: each parameter reads its value from the buffer
+     */
+    private MethodHandle recordFactory(MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, propertyTypes));
+        for (int p = 0; p < propertyTypes.length; p++) {
+            constructor = MethodHandles.filterArguments(constructor, p, bufferGetter(p));
+        }
+        // Every parameter now takes the buffer, so pass the one buffer to all of them
+        MethodHandle factory = MethodHandles.permuteArguments(constructor, MethodType.methodType(type, RowBuffer.class),
+                new int[propertyTypes.length]);
+        return factory.asType(MethodType.methodType(Object.class, RowBuffer.class));
+    }
+    
+    /**
+     * Bind the no-argument constructor and the field setters to the row buffer: create the instance, then set each field
+     */
+    private MethodHandle classFactory(MethodHandles.Lookup lookup, List<Field> fields) throws ReflectiveOperationException {
+        // (T, RowBuffer)T, returning the instance it was given
+        MethodHandle apply = MethodHandles.dropArguments(MethodHandles.identity(type), 1, RowBuffer.class);
+        for (int p = fields.size() - 1; p >= 0; p--) {
+            Field field = fields.get(p);
+            MethodHandle setter = privateLookup(field.getDeclaringClass()).unreflectSetter(field)
+                    .asType(MethodType.methodType(void.class, type, field.getType()));
+            // (T, RowBuffer)void, run before the setters after it
+            apply = MethodHandles.foldArguments(apply, MethodHandles.filterArguments(setter, 1, bufferGetter(p)));
+        }
+        
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        return MethodHandles.foldArguments(apply, constructor).asType(MethodType.methodType(Object.class, RowBuffer.class));
+    }
+    
+    /**
+     * @return (RowBuffer)propertyType reading property p from the array of its slot
+     */
+    private MethodHandle bufferGetter(int p) throws ReflectiveOperationException {
+        String field;
+        Class<?> arrayType;
+        switch (slots[p]) {
+            case DOUBLE:
+                field = "doubles";
+                arrayType = double[].class;
+                break;
+            case LONG:
+                field = "longs";
+                arrayType = long[].class;
+                break;
+            case INT:
+                field = "ints";
+                arrayType = int[].class;
+                break;
+            case BOOLEAN:
+                field = "booleans";
+                arrayType = boolean[].class;
+                break;
+            default:
+                field = "objects";
+                arrayType = Object[].class;
+                break;
+        }
+        
+        MethodHandle array = MethodHandles.lookup().findGetter(RowBuffer.class, field, arrayType);
+        MethodHandle element = MethodHandles.insertArguments(MethodHandles.arrayElementGetter(arrayType), 1, p);
+        MethodHandle value = MethodHandles.filterArguments(element, 0, array);
+        // Narrows double to float and int to short or byte (range-checked when filled), and casts objects
+        return MethodHandles.explicitCastArguments(value, MethodType.methodType(propertyTypes[p], RowBuffer.class));
+    }
+    
+    private static MethodHandles.Lookup privateLookup(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Cannot access " + type.getName(), e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounded LRU cache of parsed sheet results, used by ExcelReaderUtil once installed with setSheetCache.
+ * Entries are keyed by canonical path and sheet, and are only served while the file's size and
+ * modification time are unchanged. Cached results are unmodifiable and shared between callers.
+ */
+public class SheetCache {
+    
+    /**
+     * Loads a sheet result on a cache miss
+     */
+    interface Loader<T> {
+        T load() throws IOException;
+    }
+    
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    
+    private long estimatedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    
+    /**
+     * Create a cache with an entry and size budget
+     * 
+     * @param maxEntries Maximum number of cached sheet results
+     * @param maxBytes Maximum estimated heap size of all cached results, in bytes
+     */
+    public SheetCache(int maxEntries, long maxBytes) {
+        if (maxEntries <= 0 || maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache budget must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    /**
+     * Return the cached result for a sheet, loading and caching it on a miss
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet
+     * @param kind Shape of the result, e.g. "rows" or "maps"
+     * @param variant Extra key part for read options that change the values
+     * @param loader Reads the sheet on a miss
+     * @return Unmodifiable sheet result
+     * @throws IOException If there's an issue reading the file
+     */
+    <T> T get(String filePath, String sheetName, String kind, String variant, Loader<T> loader) throws IOException {
+        File file = new File(filePath);
+        Key key = new Key(file.getCanonicalPath(), sheetName.toLowerCase(Locale.ROOT), kind, variant);
+        long size = file.length();
+        long lastModified = file.lastModified();
+        
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.size == size && entry.lastModified == lastModified) {
+                hitCount++;
+                @SuppressWarnings("unchecked")
+                T value = (T) entry.value;
+                return value;
+            }
+            missCount++;
+        }
+        
+        // Parse outside the lock so that other files can still be served meanwhile
+        T loaded = loader.load();
+        // Estimated before wrapping, so that SheetRow results are charged at their own compact size
+        long bytes = estimateSize(loaded);
+        T value = unmodifiable(loaded);
+        
+        if (file.length() != size || file.lastModified() != lastModified) {
+            // The file was rewritten during the load, so the result cannot be tied to either version
+            return value;
+        }
+        
+        synchronized (this) {
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                estimatedBytes -= previous.bytes;
+            }
+            if (bytes <= maxBytes) {
+                entries.put(key, new Entry(size, lastModified, value, bytes));
+                estimatedBytes += bytes;
+                evict();
+            }
+        }
+        
+        return value;
+    }
+    
+    /**
+     * Remove all cached results
+     */
+    public synchronized void clear() {
+        entries.clear();
+        estimatedBytes = 0;
+    }
+    
+    /**
+     * @return Number of cached sheet results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+    
+    /**
+     * @return Estimated heap size of all cached results, in bytes
+     */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+    
+    /**
+     * @return Number of reads served from the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+    
+    /**
+     * @return Number of reads that had to parse the file
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+    
+    /**
+     * @return Number of results evicted to stay within the budget
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+    
+    /**
+     * Drop least recently used entries until the cache is within its budget
+     */
+    private void evict() {
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || estimatedBytes > maxBytes) && eldest.hasNext()) {
+            estimatedBytes -= eldest.next().bytes;
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+    
+    /**
+     * Wrap a sheet result so that callers sharing it cannot modify it
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T unmodifiable(T value) {
+        if (value instanceof List) {
+            List<Object> rows = new ArrayList<>();
+            for (Object row : (List<Object>) value) {
+                rows.add(unmodifiable(row));
+            }
+            return (T) Collections.unmodifiableList(rows);
+        } else if (value instanceof Map) {
+            return (T) Collections.unmodifiableMap((Map<String, Object>) value);
+        }
+        return value;
+    }
+    
+    /**
+     * Roughly estimate the heap size of a sheet result on a 64-bit JVM with compressed oops
+     */
+    private static long estimateSize(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        } else if (value instanceof String) {
+            return 40 + ((String) value).length();
+        } else if (value instanceof Double) {
+            return 16;
+        } else if (value instanceof Date) {
+            return 24;
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            long bytes = 40 + 4L * list.size();
+            for (Object element : list) {
+                bytes += estimateSize(element);
+            }
+            return bytes;
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            // Header keys are shared between rows, so only the table and entries are counted
+            long bytes = value instanceof SheetRow ? 40 + 4L * map.size() : 64 + 36L * map.size();
+            for (Object element : map.values()) {
+                bytes += estimateSize(element);
+            }
+            return bytes;
+        }
+        return 16;
+    }
+    
+    private static final class Key {
+        
+        private final String path;
+        private final String sheetName;
+        private final String kind;
+        private final String variant;
+        
+        Key(String path, String sheetName, String kind, String variant) {
+            this.path = path;
+            this.sheetName = sheetName;
+            this.kind = kind;
+            this.variant = variant;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return path.equals(other.path) && sheetName.equals(other.sheetName)
+                    && kind.equals(other.kind) && variant.equals(other.variant);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, sheetName, kind, variant);
+        }
+    }
+    
+    private static final class Entry {
+        
+        private final long size;
+        private final long lastModified;
+        private final Object value;
+        private final long bytes;
+        
+        Entry(long size, long lastModified, Object value, long bytes) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+}
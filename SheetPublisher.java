@@ -0,0 +1,179 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Cold Flow.Publisher over the rows of a sheet. Each subscriber gets its own read of the file, opened on its first request.
+ * Rows are pulled from the streaming readers only while the subscriber has outstanding demand, so parsing pauses
+ * when the subscriber falls behind and memory is bounded by the rows in flight rather than by the sheet size.
+ * Signals to a subscriber are delivered one at a time from the executor, never from the thread calling request or cancel.
+ */
+final class SheetPublisher<T> implements Flow.Publisher<T> {
+    
+    /**
+     * Opens the rows of a sheet as a lazily parsed stream, which holds the file open until closed
+     */
+    interface Source<T> {
+        Stream<T> open() throws IOException;
+    }
+    
+    private final Source<T> source;
+    private final Executor executor;
+    
+    /**
+     * @param source Opens the rows for each subscriber
+     * @param executor Executor the rows are parsed and delivered on
+     */
+    SheetPublisher(Source<T> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+    
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        RowSubscription subscription = new RowSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+    
+    /**
+     * Demand-driven delivery to one subscriber. Work is serialized by the wip counter,
+     * so the stream is only ever touched by one drain at a time.
+     */
+    private final class RowSubscription implements Flow.Subscription {
+        
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private volatile Throwable invalidRequest;
+        
+        // Only accessed by the drain
+        private Stream<T> rows;
+        private Iterator<T> iterator;
+        private boolean done;
+        
+        RowSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+        
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Demand must be positive, was " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            schedule();
+        }
+        
+        @Override
+        public void cancel() {
+            if (cancelled.compareAndSet(false, true)) {
+                // The drain closes the file, so a cursor is never closed under a running parse
+                schedule();
+            }
+        }
+        
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    wip.set(0);
+                    close();
+                    subscriber.onError(e);
+                }
+            }
+        }
+        
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    deliver();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+        
+        private void deliver() {
+            if (cancelled.get()) {
+                done = true;
+                close();
+                return;
+            }
+            if (invalidRequest != null) {
+                done = true;
+                close();
+                subscriber.onError(invalidRequest);
+                return;
+            }
+            
+            while (demand.get() > 0 && !cancelled.get()) {
+                boolean hasNext;
+                T row = null;
+                try {
+                    if (iterator == null) {
+                        rows = source.open();
+                        iterator = rows.iterator();
+                    }
+                    hasNext = iterator.hasNext();
+                    if (hasNext) {
+                        row = iterator.next();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    done = true;
+                    close();
+                    if (!cancelled.get()) {
+                        // Reads signal I/O errors from inside the stream as UncheckedIOException
+                        subscriber.onError(e instanceof UncheckedIOException ? e.getCause() : e);
+                    }
+                    return;
+                }
+                
+                if (!hasNext) {
+                    done = true;
+                    close();
+                    subscriber.onComplete();
+                    return;
+                }
+                demand.decrementAndGet();
+                try {
+                    subscriber.onNext(row);
+                } catch (RuntimeException e) {
+                    // A subscriber that throws broke the contract (rule 2.13), so it is treated as cancelled
+                    // and gets no further signals, onError included
+                    cancelled.set(true);
+                    done = true;
+                    close();
+                    return;
+                }
+            }
+            
+            if (cancelled.get()) {
+                done = true;
+                close();
+            }
+        }
+        
+        private void close() {
+            if (rows != null) {
+                try {
+                    rows.close();
+                } catch (RuntimeException e) {
+                    // Closing a read-only file; nothing to report once the subscription is over
+                }
+                rows = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A row of a sheet read with headers, returned by readSheetAsMap.
+ * All rows of a sheet share one immutable header-to-index Schema and store their values in a flat array,
+ * so a row costs one small array instead of a HashMap. Rows still behave as ordinary mutable maps:
+ * keys that are not headers can be added, and header keys can be removed.
+ */
+public final class SheetRow extends AbstractMap<String, Object> {
+    
+    /** Marks a header key removed by the caller */
+    private static final Object ABSENT = new Object();
+    
+    private final Schema schema;
+    private final Object[] values;
+    private int removedCount;
+    private Map<String, Object> extraEntries;
+    
+    /**
+     * @param schema Schema shared by all rows of the sheet
+     * @param values One value per schema slot
+     */
+    SheetRow(Schema schema, Object[] values) {
+        if (values.length != schema.size()) {
+            throw new IllegalArgumentException("Expected " + schema.size() + " values but got " + values.length);
+        }
+        this.schema = schema;
+        this.values = values;
+    }
+    
+    /**
+     * @return Schema shared by all rows of the sheet
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+    
+    /**
+     * Get a value by schema slot, skipping the header lookup
+     * 
+     * @param slot Slot of the header in the schema
+     * @return Value of the cell, or null if it is blank, missing or removed
+     */
+    public Object getValue(int slot) {
+        Object value = values[slot];
+        return value == ABSENT ? null : value;
+    }
+    
+    @Override
+    public Object get(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            return getValue(slot);
+        }
+        return extraEntries != null ? extraEntries.get(key) : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            return values[slot] != ABSENT;
+        }
+        return extraEntries != null && extraEntries.containsKey(key);
+    }
+    
+    @Override
+    public Object put(String key, Object value) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            Object previous = values[slot];
+            values[slot] = value;
+            if (previous == ABSENT) {
+                removedCount--;
+                return null;
+            }
+            return previous;
+        }
+        
+        if (extraEntries == null) {
+            extraEntries = new LinkedHashMap<>();
+        }
+        return extraEntries.put(key, value);
+    }
+    
+    @Override
+    public Object remove(Object key) {
+        int slot = schema.indexOf(key);
+        if (slot >= 0) {
+            Object previous = values[slot];
+            if (previous == ABSENT) {
+                return null;
+            }
+            values[slot] = ABSENT;
+            removedCount++;
+            return previous;
+        }
+        return extraEntries != null ? extraEntries.remove(key) : null;
+    }
+    
+    @Override
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        removedCount = values.length;
+        extraEntries = null;
+    }
+    
+    @Override
+    public int size() {
+        return values.length - removedCount + (extraEntries != null ? extraEntries.size() : 0);
+    }
+    
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+            
+            @Override
+            public int size() {
+                return SheetRow.this.size();
+            }
+        };
+    }
+    
+    /**
+     * Iterates the header entries in schema order, followed by any keys added by the caller
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        
+        private int nextSlot = advance(0);
+        private int lastSlot = -1;
+        private Iterator<Entry<String, Object>> extraIterator;
+        
+        private int advance(int slot) {
+            while (slot < values.length && values[slot] == ABSENT) {
+                slot++;
+            }
+            return slot;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            if (nextSlot < values.length) {
+                return true;
+            }
+            if (extraIterator == null && extraEntries != null) {
+                extraIterator = extraEntries.entrySet().iterator();
+            }
+            return extraIterator != null && extraIterator.hasNext();
+        }
+        
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nextSlot < values.length) {
+                int slot = nextSlot;
+                lastSlot = slot;
+                nextSlot = advance(slot + 1);
+                return new SlotEntry(slot);
+            }
+            lastSlot = -1;
+            return extraIterator.next();
+        }
+        
+        @Override
+        public void remove() {
+            if (lastSlot >= 0) {
+                SheetRow.this.remove(schema.getName(lastSlot));
+                lastSlot = -1;
+            } else if (extraIterator != null) {
+                extraIterator.remove();
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+    
+    /**
+     * Entry backed by a slot of the value array
+     */
+    private final class SlotEntry extends SimpleEntry<String, Object> {
+        
+        private static final long serialVersionUID = 1L;
+        
+        private final int slot;
+        
+        SlotEntry(int slot) {
+            super(schema.getName(slot), SheetRow.this.getValue(slot));
+            this.slot = slot;
+        }
+        
+        @Override
+        public Object setValue(Object value) {
+            values[slot] = value;
+            return super.setValue(value);
+        }
+    }
+    
+    /**
+     * Immutable mapping from header names to value slots, shared by all rows of a sheet
+     */
+    public static final class Schema {
+        
+        private final String[] names;
+        private final int[] columns;
+        private final Map<String, Integer> slots;
+        
+        private Schema(String[] names, int[] columns, Map<String, Integer> slots) {
+            this.names = names;
+            this.columns = columns;
+            this.slots = slots;
+        }
+        
+        /**
+         * Build a schema from a header row. As with a HashMap filled in column order,
+         * a repeated header maps to its last column.
+         * 
+         * @param headers Header of each column, in column order from column 0 without gaps
+         * @return Schema over the distinct headers
+         */
+        static Schema of(List<String> headers) {
+            int[] columns = new int[headers.size()];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = i;
+            }
+            return of(headers, columns);
+        }
+        
+        /**
+         * Build a schema from a subset of the headers of a header row
+         * 
+         * @param headers Selected headers, in column order
+         * @param headerColumns Column index of each selected header
+         * @return Schema over the distinct selected headers
+         */
+        static Schema of(List<String> headers, int[] headerColumns) {
+            Map<String, Integer> slots = new HashMap<>();
+            String[] names = new String[headers.size()];
+            int[] columns = new int[headers.size()];
+            int size = 0;
+            
+            for (int i = 0; i < headers.size(); i++) {
+                String header = headers.get(i);
+                Integer slot = slots.get(header);
+                if (slot == null) {
+                    slot = size++;
+                    slots.put(header, slot);
+                    names[slot] = header;
+                }
+                columns[slot] = headerColumns[i];
+            }
+            
+            return new Schema(Arrays.copyOf(names, size), Arrays.copyOf(columns, size), slots);
+        }
+        
+        /**
+         * @return Number of distinct headers
+         */
+        public int size() {
+            return names.length;
+        }
+        
+        /**
+         * @param slot Slot of the header
+         * @return Header name
+         */
+        public String getName(int slot) {
+            return names[slot];
+        }
+        
+        /**
+         * @param slot Slot of the header
+         * @return Column index of the header's column
+         */
+        public int getColumn(int slot) {
+            return columns[slot];
+        }
+        
+        /**
+         * @param name Header name
+         * @return Slot of the header, or -1 if the sheet has no such header
+         */
+        public int indexOf(Object name) {
+            Integer slot = slots.get(name);
+            return slot != null ? slot : -1;
+        }
+    }
+}
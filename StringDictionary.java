@@ -0,0 +1,70 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Per-read dictionary handing out one String instance per distinct cell string, so a column with a few
+ * distinct values holds a few strings instead of one per row, and equal values compare by reference.
+ * Shared strings are keyed on their index in the shared strings table, so repeated values are not even decoded again.
+ * Not thread-safe; each read (or each sheet of a parallel read) uses its own dictionary.
+ */
+final class StringDictionary {
+    
+    /**
+     * Most distinct strings kept per lookup kind. Categorical values come first in the shared strings table and fill
+     * the dictionary early; columns of unique values (IDs, free text) stop growing it once it is full.
+     */
+    private static final int MAX_ENTRIES = 1 << 16;
+    
+    private String[] sharedStrings = new String[64];
+    private final Map<String, String> strings = new HashMap<>();
+    
+    /**
+     * @param index Index of the string in the shared strings table
+     * @param lookup Decodes the string at an index, only called the first time the index is seen
+     * @return Shared instance of the string at that index
+     */
+    String sharedString(int index, IntFunction<String> lookup) {
+        if (index >= MAX_ENTRIES) {
+            return intern(lookup.apply(index));
+        }
+        if (index >= sharedStrings.length) {
+            sharedStrings = Arrays.copyOf(sharedStrings, Math.min(MAX_ENTRIES, Math.max(index + 1, sharedStrings.length * 2)));
+        }
+        
+        String value = sharedStrings[index];
+        if (value == null) {
+            value = intern(lookup.apply(index));
+            sharedStrings[index] = value;
+        }
+        return value;
+    }
+    
+    /**
+     * @param value String read from a cell (may be null)
+     * @return Instance of an equal string seen before, or the string itself
+     */
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        
+        String existing = strings.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (strings.size() < MAX_ENTRIES) {
+            strings.put(value, value);
+        }
+        return value;
+    }
+    
+    /**
+     * @param value Cell value in any form
+     * @return Shared instance if the value is a string, otherwise the value itself
+     */
+    Object internValue(Object value) {
+        return value instanceof String ? intern((String) value) : value;
+    }
+}
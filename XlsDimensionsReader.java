@@ -0,0 +1,134 @@
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FilePassRecord;
+import org.apache.poi.hssf.record.RecordInputStream;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads sheet sizes from the BIFF DIMENSIONS record of .xls files without loading any cell records.
+ * Only the BOUNDSHEET records of the workbook globals are read, then the reader seeks straight
+ * to the sheet's BOF offset, so the cost does not depend on the size of the sheet.
+ */
+final class XlsDimensionsReader {
+    
+    private XlsDimensionsReader() {
+    }
+    
+    /**
+     * Get the number of rows in a sheet (last row index + 1)
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetName Name of the sheet (case-insensitive, like Workbook.getSheet)
+     * @return Number of rows, or -1 if the file has to be read in full (encrypted or no DIMENSIONS record)
+     * @throws IOException If there's an issue reading the file
+     */
+    static int getRowCount(String filePath, String sheetName) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(new File(filePath), true)) {
+            String entryName = HSSFWorkbook.getWorkbookDirEntryName(fs.getRoot());
+            BoundSheetRecord[] sheets = readBoundSheets(fs, entryName);
+            if (sheets == null) {
+                return -1;
+            }
+            
+            for (BoundSheetRecord sheet : sheets) {
+                if (sheet.getSheetname().equalsIgnoreCase(sheetName)) {
+                    return readRowCount(fs, entryName, sheet.getPositionOfBof());
+                }
+            }
+            throw new IllegalArgumentException("Sheet not found: " + sheetName);
+        }
+    }
+    
+    /**
+     * Get the number of rows in a sheet by index (last row index + 1)
+     * 
+     * @param filePath Path to the Excel file
+     * @param sheetIndex Index of the sheet (0-based)
+     * @return Number of rows, or -1 if the file has to be read in full (encrypted or no DIMENSIONS record)
+     * @throws IOException If there's an issue reading the file
+     */
+    static int getRowCountAt(String filePath, int sheetIndex) throws IOException {
+        try (POIFSFileSystem fs = new POIFSFileSystem(new File(filePath), true)) {
+            String entryName = HSSFWorkbook.getWorkbookDirEntryName(fs.getRoot());
+            BoundSheetRecord[] sheets = readBoundSheets(fs, entryName);
+            if (sheets == null) {
+                return -1;
+            }
+            
+            if (sheetIndex < 0 || sheetIndex >= sheets.length) {
+                throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range (0.." + (sheets.length - 1) + ")");
+            }
+            return readRowCount(fs, entryName, sheets[sheetIndex].getPositionOfBof());
+        }
+    }
+    
+    /**
+     * Read the BOUNDSHEET records from the workbook globals, in sheet order
+     * 
+     * @return Sheet records ordered by BOF position, or null if the workbook is encrypted
+     */
+    private static BoundSheetRecord[] readBoundSheets(POIFSFileSystem fs, String entryName) throws IOException {
+        List<BoundSheetRecord> sheets = new ArrayList<>();
+        byte[] skipBuffer = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE];
+        
+        try (DocumentInputStream dis = fs.createDocumentInputStream(entryName)) {
+            RecordInputStream in = new RecordInputStream(dis);
+            while (in.hasNextRecord()) {
+                in.nextRecord();
+                short sid = in.getSid();
+                
+                if (sid == FilePassRecord.sid) {
+                    return null;
+                } else if (sid == BoundSheetRecord.sid) {
+                    sheets.add(new BoundSheetRecord(in));
+                } else if (!sheets.isEmpty() || sid == EOFRecord.sid) {
+                    // BOUNDSHEET records form one contiguous block, so nothing further is needed
+                    break;
+                } else {
+                    in.readFully(skipBuffer, 0, in.remaining());
+                }
+            }
+        }
+        
+        return BoundSheetRecord.orderByBofPosition(sheets);
+    }
+    
+    /**
+     * Seek to a sheet's BOF record and read its DIMENSIONS record
+     * 
+     * @return Number of rows, or -1 if the sheet has no DIMENSIONS record
+     */
+    private static int readRowCount(POIFSFileSystem fs, String entryName, int positionOfBof) throws IOException {
+        byte[] skipBuffer = new byte[RecordInputStream.MAX_RECORD_DATA_SIZE];
+        
+        try (DocumentInputStream dis = fs.createDocumentInputStream(entryName)) {
+            if (dis.skip(positionOfBof) != positionOfBof) {
+                throw new IOException("Sheet BOF offset " + positionOfBof + " is past the end of the workbook stream");
+            }
+            
+            RecordInputStream in = new RecordInputStream(dis);
+            while (in.hasNextRecord()) {
+                in.nextRecord();
+                short sid = in.getSid();
+                
+                if (sid == DimensionsRecord.sid) {
+                    // The DIMENSIONS last row is already exclusive, i.e. last row index + 1
+                    return new DimensionsRecord(in).getLastRow();
+                } else if (sid == EOFRecord.sid) {
+                    break;
+                }
+                in.readFully(skipBuffer, 0, in.remaining());
+            }
+        }
+        
+        return -1;
+    }
+}
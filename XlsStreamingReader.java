@@ -0,0 +1,471 @@
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.eventusermodel.HSSFListener;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BlankRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.MulBlankRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactory;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.RowRecord;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.DocumentInputStream;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Streaming reader for .xls files built on the POI event API (HSSFListener).
+ * Records are pulled one at a time from a RecordFactoryInputStream, which already expands RK and MulRK records
+ * into number records, so only the shared strings table and the current row are held in memory.
+ */
+final class XlsStreamingReader implements Closeable {
+    
+    private static final int[] NO_COLUMNS = new int[0];
+    
+    private final POIFSFileSystem fs;
+    
+    /**
+     * Open an .xls file for streaming
+     * 
+     * @param filePath Path to the Excel file
+     * @throws IOException If there's an issue reading the file
+     */
+    XlsStreamingReader(String filePath) throws IOException {
+        this.fs = new POIFSFileSystem(new File(filePath), true);
+    }
+    
+    /**
+     * Stream a sheet by name (case-insensitive, like Workbook.getSheet)
+     * 
+     * @param sheetName Name of the sheet to read
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheet(String sheetName, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursor(sheetName)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Stream a sheet by index
+     * 
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheetAt(int sheetIndex, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursorAt(sheetIndex)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Open a pull cursor over the rows of a sheet; closing the cursor leaves this reader open
+     * 
+     * @param sheetName Name of the sheet to read
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursor(String sheetName) throws IOException {
+        return new SheetCursor(sheetName, -1);
+    }
+    
+    /**
+     * Open a pull cursor over the rows of a sheet by index; closing the cursor leaves this reader open
+     * 
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursorAt(int sheetIndex) throws IOException {
+        return new SheetCursor(null, sheetIndex);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        fs.close();
+    }
+    
+    private static void pushRows(ExcelReaderUtil.RowCursor cursor, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        while (cursor.next()) {
+            handler.handleRow(cursor.getRowIndex(), cursor.getColumnIndexes(), cursor.getRowData());
+        }
+    }
+    
+    /**
+     * A completed row waiting to be returned by the cursor.
+     * Cells are kept as their raw records until the row data is requested, so skipped rows are never decoded.
+     */
+    private static final class BufferedRow {
+        
+        private final int rowIndex;
+        private final int[] columnIndexes;
+        private final List<Object> rowData;
+        private boolean decoded;
+        
+        BufferedRow(int rowIndex, int[] columnIndexes, List<Object> rowData) {
+            this.rowIndex = rowIndex;
+            this.columnIndexes = columnIndexes;
+            this.rowData = rowData;
+        }
+    }
+    
+    /**
+     * Cursor that pulls BIFF records until the next row of the selected sheet is complete.
+     * A row is complete once a cell of a later row or the sheet's EOF record is seen; rows that only
+     * have a ROW record are returned without cells, like the empty rows of an HSSFSheet.
+     */
+    private final class SheetCursor implements ExcelReaderUtil.RowCursor, HSSFListener {
+        
+        private final String sheetName;
+        private final int sheetIndex;
+        private final DocumentInputStream workbookData;
+        private final RecordFactoryInputStream records;
+        private final FormatTrackingHSSFListener formats;
+        
+        private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+        private SSTRecord sst;
+        private boolean date1904;
+        
+        private int depth;
+        private int substreamCount = -1;
+        private boolean inSheet;
+        private boolean sheetFound;
+        private boolean done;
+        
+        private final TreeSet<Integer> definedRows = new TreeSet<>();
+        private final Deque<BufferedRow> completedRows = new ArrayDeque<>();
+        private int currentRow = -1;
+        private int[] currentColumns = new int[16];
+        private List<Object> currentData;
+        private int pendingFormulaColumn = -1;
+        private BitSet selectedColumns;
+        private StringDictionary strings;
+        
+        private BufferedRow row;
+        
+        SheetCursor(String sheetName, int sheetIndex) throws IOException {
+            this.sheetName = sheetName;
+            this.sheetIndex = sheetIndex;
+            this.workbookData = fs.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(fs.getRoot()));
+            this.records = new RecordFactoryInputStream(workbookData, false);
+            this.formats = new FormatTrackingHSSFListener(this);
+        }
+        
+        @Override
+        public boolean next() throws IOException {
+            while (completedRows.isEmpty() && !done) {
+                Record record = records.nextRecord();
+                if (record == null) {
+                    finishSheet();
+                    break;
+                }
+                formats.processRecord(record);
+            }
+            
+            if (completedRows.isEmpty()) {
+                if (!sheetFound) {
+                    throw sheetName != null
+                            ? new IllegalArgumentException("Sheet not found: " + sheetName)
+                            : new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range (0.." + substreamCount + ")");
+                }
+                row = null;
+                return false;
+            }
+            row = completedRows.poll();
+            return true;
+        }
+        
+        @Override
+        public void processRecord(Record record) {
+            short sid = record.getSid();
+            
+            if (sid == BOFRecord.sid) {
+                depth++;
+                BOFRecord bof = (BOFRecord) record;
+                if (depth == 1 && bof.getType() != BOFRecord.TYPE_WORKBOOK) {
+                    substreamCount++;
+                    inSheet = isSelected(substreamCount);
+                    sheetFound |= inSheet;
+                }
+                return;
+            } else if (sid == EOFRecord.sid) {
+                depth--;
+                if (depth == 0 && inSheet) {
+                    finishSheet();
+                }
+                return;
+            }
+            
+            if (depth == 1 && !inSheet) {
+                // Workbook globals, or a sheet that was not selected
+                if (sid == BoundSheetRecord.sid) {
+                    boundSheets.add((BoundSheetRecord) record);
+                } else if (sid == SSTRecord.sid) {
+                    sst = (SSTRecord) record;
+                } else if (sid == DateWindow1904Record.sid) {
+                    date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+                }
+                return;
+            }
+            if (depth != 1) {
+                // Embedded chart substreams
+                return;
+            }
+            
+            if (record instanceof CellValueRecordInterface && !isSelected((CellValueRecordInterface) record)) {
+                // Keep the row, but drop the cell before it is ever decoded
+                addRow(((CellValueRecordInterface) record).getRow());
+                pendingFormulaColumn = -1;
+                return;
+            }
+            
+            // Cells are buffered as raw records and only decoded by getRowData()
+            switch (sid) {
+                case RowRecord.sid:
+                    int rowNumber = ((RowRecord) record).getRowNumber();
+                    if (rowNumber > currentRow) {
+                        definedRows.add(rowNumber);
+                    }
+                    break;
+                case NumberRecord.sid:
+                case LabelSSTRecord.sid:
+                case BoolErrRecord.sid:
+                    CellValueRecordInterface cell = (CellValueRecordInterface) record;
+                    addCell(cell.getRow(), cell.getColumn(), record);
+                    break;
+                case LabelRecord.sid:
+                    LabelRecord oldLabel = (LabelRecord) record;
+                    addCell(oldLabel.getRow(), oldLabel.getColumn(), oldLabel.getValue());
+                    break;
+                case BlankRecord.sid:
+                    BlankRecord blank = (BlankRecord) record;
+                    addCell(blank.getRow(), blank.getColumn(), null);
+                    break;
+                case MulBlankRecord.sid:
+                    // A run of blank cells, which HSSFSheet also expands into one cell each
+                    for (BlankRecord blankCell : RecordFactory.convertBlankRecords((MulBlankRecord) record)) {
+                        processRecord(blankCell);
+                    }
+                    break;
+                case FormulaRecord.sid:
+                    FormulaRecord formula = (FormulaRecord) record;
+                    addCell(formula.getRow(), formula.getColumn(), formula);
+                    if (formula.hasCachedResultString()) {
+                        pendingFormulaColumn = currentData.size() - 1;
+                    }
+                    break;
+                case StringRecord.sid:
+                    // Cached string result of the preceding formula cell
+                    if (pendingFormulaColumn >= 0) {
+                        currentData.set(pendingFormulaColumn, ((StringRecord) record).getString());
+                        pendingFormulaColumn = -1;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        private boolean isSelected(int substream) {
+            if (sheetName == null) {
+                return substream == sheetIndex;
+            }
+            BoundSheetRecord[] ordered = BoundSheetRecord.orderByBofPosition(boundSheets);
+            return substream < ordered.length && ordered[substream].getSheetname().equalsIgnoreCase(sheetName);
+        }
+        
+        private boolean isSelected(CellValueRecordInterface cell) {
+            return selectedColumns == null || selectedColumns.get(cell.getColumn());
+        }
+        
+        /**
+         * Convert a buffered cell into the same value getCellValue would return
+         * 
+         * @param cell Raw cell record, or the value itself for cells that need no decoding
+         * @return Object representation of the cell value
+         */
+        private Object decodeCell(Object cell) {
+            if (cell instanceof NumberRecord) {
+                return decodeNumber((NumberRecord) cell);
+            } else if (cell instanceof LabelSSTRecord) {
+                int index = ((LabelSSTRecord) cell).getSSTIndex();
+                return strings != null
+                        ? strings.sharedString(index, i -> sst.getString(i).getString())
+                        : sst.getString(index).getString();
+            } else if (cell instanceof BoolErrRecord) {
+                BoolErrRecord boolErr = (BoolErrRecord) cell;
+                return boolErr.isBoolean()
+                        ? (Object) boolErr.getBooleanValue()
+                        : FormulaError.forInt(boolErr.getErrorValue()).getString();
+            } else if (cell instanceof FormulaRecord) {
+                return decodeFormula((FormulaRecord) cell);
+            } else if (cell instanceof String && strings != null) {
+                // Labels and string formula results are buffered as strings
+                return strings.intern((String) cell);
+            }
+            return cell;
+        }
+        
+        /**
+         * Formula cells return their cached result, matching getFormulaCellValue for numbers (no date conversion).
+         * String results are buffered from the STRING record instead of the formula record.
+         */
+        private Object decodeFormula(FormulaRecord formula) {
+            switch (formula.getCachedResultTypeEnum()) {
+                case NUMERIC:
+                    return formula.getValue();
+                case BOOLEAN:
+                    return formula.getCachedBooleanValue();
+                case ERROR:
+                    return FormulaError.forInt(formula.getCachedErrorValue()).getString();
+                default:
+                    return null;
+            }
+        }
+        
+        private Object decodeNumber(NumberRecord number) {
+            double value = number.getValue();
+            int formatIndex = formats.getFormatIndex(number);
+            if (DateUtil.isValidExcelDate(value) && DateUtil.isADateFormat(formatIndex, formats.getFormatString(formatIndex))) {
+                return DateUtil.getJavaDate(value, date1904);
+            }
+            return value;
+        }
+        
+        private void addCell(int rowIndex, int columnIndex, Object value) {
+            addRow(rowIndex);
+            pendingFormulaColumn = -1;
+            
+            if (currentData.size() == currentColumns.length) {
+                currentColumns = Arrays.copyOf(currentColumns, currentColumns.length * 2);
+            }
+            currentColumns[currentData.size()] = columnIndex;
+            currentData.add(value);
+        }
+        
+        /**
+         * Make rowIndex the current row, completing the previous one
+         */
+        private void addRow(int rowIndex) {
+            if (rowIndex != currentRow || currentData == null) {
+                finishCurrentRow();
+                completeDefinedRowsBefore(rowIndex);
+                currentRow = rowIndex;
+                currentData = new ArrayList<>();
+                definedRows.remove(rowIndex);
+            }
+        }
+        
+        private void finishCurrentRow() {
+            if (currentData != null) {
+                int size = 0;
+                for (int i = 0; i < currentData.size(); i++) {
+                    // Cells read before the column selection was made
+                    if (selectedColumns == null || selectedColumns.get(currentColumns[i])) {
+                        currentColumns[size] = currentColumns[i];
+                        currentData.set(size++, currentData.get(i));
+                    }
+                }
+                currentData.subList(size, currentData.size()).clear();
+                completedRows.add(new BufferedRow(currentRow, Arrays.copyOf(currentColumns, size), currentData));
+                currentData = null;
+            }
+        }
+        
+        private void completeDefinedRowsBefore(int rowIndex) {
+            while (!definedRows.isEmpty() && definedRows.first() < rowIndex) {
+                completedRows.add(new BufferedRow(definedRows.pollFirst(), NO_COLUMNS, new ArrayList<>()));
+            }
+        }
+        
+        private void finishSheet() {
+            finishCurrentRow();
+            completeDefinedRowsBefore(Integer.MAX_VALUE);
+            inSheet = false;
+            done = true;
+        }
+        
+        @Override
+        public int getRowIndex() {
+            return row.rowIndex;
+        }
+        
+        @Override
+        public int[] getColumnIndexes() {
+            return row.columnIndexes;
+        }
+        
+        @Override
+        public int getCellCount() {
+            return row != null ? row.rowData.size() : 0;
+        }
+        
+        @Override
+        public Object getCellValue(int cell) {
+            // Decoding a value that is already decoded returns it unchanged
+            Object value = decodeCell(row.rowData.get(cell));
+            row.rowData.set(cell, value);
+            return value;
+        }
+        
+        @Override
+        public List<Object> getRowData() {
+            if (row == null) {
+                return Collections.emptyList();
+            }
+            if (!row.decoded) {
+                for (int cell = 0; cell < row.rowData.size(); cell++) {
+                    getCellValue(cell);
+                }
+                row.decoded = true;
+            }
+            return row.rowData;
+        }
+        
+        @Override
+        public boolean skipRow() throws IOException {
+            // Rows are only decoded by getRowData()
+            return next();
+        }
+        
+        @Override
+        public void selectColumns(BitSet columns) {
+            selectedColumns = columns;
+        }
+        
+        @Override
+        public void deduplicateStrings(StringDictionary strings) {
+            this.strings = strings;
+        }
+        
+        @Override
+        public void close() {
+            workbookData.close();
+        }
+    }
+}
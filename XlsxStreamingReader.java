@@ -0,0 +1,925 @@
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRelation;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming reader for .xlsx files built on the POI event API (XSSFReader)
+ * Sheets are pulled with StAX one row at a time, so memory use does not grow with the row count.
+ * Once opened, different sheets may be read concurrently from several threads.
+ */
+final class XlsxStreamingReader implements Closeable {
+    
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+    
+    /** Stands in for the sharedStrings.xml part of workbooks without one */
+    private static final byte[] EMPTY_SHARED_STRINGS = "<sst/>".getBytes(StandardCharsets.UTF_8);
+    
+    /** Marks a buffered cell whose value has not been decoded yet */
+    private static final Object UNDECODED = new Object();
+    
+    /** Start tags searched for when a cursor resumes from an offset */
+    private static final byte[] SHEET_DATA_TAG = "<sheetData".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ROW_TAG = "<row".getBytes(StandardCharsets.US_ASCII);
+    
+    /** Chunk the sheet XML is inflated in when a cursor resumes from an offset */
+    private static final int SEEK_BUFFER_SIZE = 64 * 1024;
+    
+    /** Sheet XML searched for the sheetData start tag before an offset hint is given up on */
+    private static final int MAX_SHEET_HEAD = 16 * 1024 * 1024;
+    
+    private final OPCPackage pkg;
+    private final XSSFReader reader;
+    // Loaded on first use in LAZY mode, so volatile for the parallel reads
+    private volatile SharedStrings sharedStrings;
+    private final MappedSharedStrings mappedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    // Sheets may be parsed concurrently, so the style cache must be thread-safe
+    private final Map<Integer, Boolean> dateStyles = new ConcurrentHashMap<>();
+    
+    /**
+     * Open an .xlsx file for streaming, holding the shared strings table in memory
+     * 
+     * @param filePath Path to the Excel file
+     * @throws IOException If there's an issue reading the file
+     */
+    XlsxStreamingReader(String filePath) throws IOException {
+        this(filePath, ExcelReaderUtil.SharedStringsMode.IN_MEMORY);
+    }
+    
+    /**
+     * Open an .xlsx file for streaming
+     * 
+     * @param filePath Path to the Excel file
+     * @param sharedStringsMode How the shared strings table is held
+     * @throws IOException If there's an issue reading the file
+     */
+    XlsxStreamingReader(String filePath, ExcelReaderUtil.SharedStringsMode sharedStringsMode) throws IOException {
+        OPCPackage opened;
+        try {
+            opened = OPCPackage.open(new File(filePath), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to open " + filePath, e);
+        }
+        
+        try {
+            this.pkg = opened;
+            this.reader = new XSSFReader(opened);
+            this.sharedStrings = sharedStringsMode == ExcelReaderUtil.SharedStringsMode.IN_MEMORY ? loadSharedStrings(opened) : null;
+            this.mappedStrings = sharedStringsMode == ExcelReaderUtil.SharedStringsMode.MEMORY_MAPPED ? mapSharedStrings(opened) : null;
+            this.styles = reader.getStylesTable();
+            this.date1904 = readDate1904(reader);
+        } catch (OpenXML4JException | SAXException | IOException | RuntimeException e) {
+            opened.revert();
+            if (e instanceof IOException) {
+                throw (IOException) e;
+            }
+            throw new IOException("Unable to read workbook structure of " + filePath, e);
+        }
+    }
+    
+    /**
+     * Stream a sheet by name (case-insensitive, like Workbook.getSheet)
+     * 
+     * @param sheetName Name of the sheet to read
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheet(String sheetName, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursor(sheetName)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Stream a sheet by index
+     * 
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @param handler Callback receiving each row
+     * @throws IOException If there's an issue reading the file
+     */
+    void readSheetAt(int sheetIndex, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        try (ExcelReaderUtil.RowCursor cursor = openCursorAt(sheetIndex)) {
+            pushRows(cursor, handler);
+        }
+    }
+    
+    /**
+     * Open a pull cursor over the rows of a sheet; closing the cursor leaves this reader open
+     * 
+     * @param sheetName Name of the sheet to read
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursor(String sheetName) throws IOException {
+        return openCursor(sheetName, null, -1, -1);
+    }
+    
+    /**
+     * Open a pull cursor that may start part-way through a sheet. When the sheet is still stored in sheetPart,
+     * the cursor inflates the sheet XML up to rowOffset without parsing it and starts at the next row tag,
+     * as long as that row is at or before rowIndex; otherwise it starts at the first row.
+     * 
+     * @param sheetName Name of the sheet to read
+     * @param sheetPart Zip entry the offset was recorded in, or null to start at the first row
+     * @param rowOffset Offset hint returned by RowCursor.getRowOffset() for a row at or before rowIndex
+     * @param rowIndex Index of the row the cursor must not start after (0-based)
+     * @return Cursor positioned before a row at or before rowIndex
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursor(String sheetName, String sheetPart, long rowOffset, int rowIndex) throws IOException {
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        while (sheets.hasNext()) {
+            InputStream sheetData = sheets.next();
+            if (sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                String partName = sheets.getSheetPart().getPartName().getName();
+                if (sheetPart == null || !sheetPart.equals(partName) || rowOffset <= 0) {
+                    return new SheetCursor(sheetData, partName, 0, 0);
+                }
+                return resumeCursor(sheetData, partName, rowOffset, rowIndex, sheets.getSheetPart());
+            }
+            sheetData.close();
+        }
+        throw new IllegalArgumentException("Sheet not found: " + sheetName);
+    }
+    
+    /**
+     * Open a pull cursor over the rows of a sheet by index; closing the cursor leaves this reader open
+     * 
+     * @param sheetIndex Index of the sheet to read (0-based)
+     * @return Cursor positioned before the first row
+     * @throws IOException If there's an issue reading the file
+     */
+    ExcelReaderUtil.RowCursor openCursorAt(int sheetIndex) throws IOException {
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        int index = 0;
+        while (sheets.hasNext()) {
+            InputStream sheetData = sheets.next();
+            if (index == sheetIndex) {
+                return new SheetCursor(sheetData, sheets.getSheetPart().getPartName().getName(), 0, 0);
+            }
+            sheetData.close();
+            index++;
+        }
+        throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range (0.." + (index - 1) + ")");
+    }
+    
+    /**
+     * Get the number of sheets in the workbook
+     * 
+     * @return Number of sheets
+     * @throws IOException If there's an issue reading the file
+     */
+    int getSheetCount() throws IOException {
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        int count = 0;
+        while (sheets.hasNext()) {
+            sheets.next().close();
+            count++;
+        }
+        return count;
+    }
+    
+    /**
+     * Get the number of rows in a sheet (last row index + 1) without decoding any cells.
+     * Uses the sheet's dimension element when present, otherwise scans the row tags only.
+     * 
+     * @param sheetName Name of the sheet
+     * @return Number of rows in the sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    int getRowCount(String sheetName) throws IOException {
+        try (InputStream sheetData = openSheet(sheetName)) {
+            return countRows(sheetData);
+        }
+    }
+    
+    /**
+     * Get the number of rows in a sheet by index without decoding any cells
+     * 
+     * @param sheetIndex Index of the sheet (0-based)
+     * @return Number of rows in the sheet
+     * @throws IOException If there's an issue reading the file
+     */
+    int getRowCountAt(int sheetIndex) throws IOException {
+        try (InputStream sheetData = openSheetAt(sheetIndex)) {
+            return countRows(sheetData);
+        }
+    }
+    
+    @Override
+    public void close() {
+        // Opened read-only, so there is nothing to write back
+        pkg.revert();
+    }
+    
+    private XSSFReader.SheetIterator sheetIterator() throws IOException {
+        try {
+            return (XSSFReader.SheetIterator) reader.getSheetsData();
+        } catch (OpenXML4JException e) {
+            throw new IOException("Unable to list sheets", e);
+        }
+    }
+    
+    private InputStream openSheet(String sheetName) throws IOException {
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        while (sheets.hasNext()) {
+            InputStream sheetData = sheets.next();
+            if (sheets.getSheetName().equalsIgnoreCase(sheetName)) {
+                return sheetData;
+            }
+            sheetData.close();
+        }
+        throw new IllegalArgumentException("Sheet not found: " + sheetName);
+    }
+    
+    private InputStream openSheetAt(int sheetIndex) throws IOException {
+        XSSFReader.SheetIterator sheets = sheetIterator();
+        int index = 0;
+        while (sheets.hasNext()) {
+            InputStream sheetData = sheets.next();
+            if (index == sheetIndex) {
+                return sheetData;
+            }
+            sheetData.close();
+            index++;
+        }
+        throw new IllegalArgumentException("Sheet index (" + sheetIndex + ") is out of range (0.." + (index - 1) + ")");
+    }
+    
+    /**
+     * Start a cursor at the first row tag at or after rowOffset. The sheet XML up to the sheetData start tag is kept
+     * in front of it, so the parser sees a well-formed sheet that only lacks the rows before the offset.
+     * Falls back to the whole sheet when the hint does not lead to a row at or before rowIndex.
+     */
+    private SheetCursor resumeCursor(InputStream sheetData, String partName, long rowOffset, int rowIndex, PackagePart part)
+            throws IOException {
+        SheetCursor cursor = null;
+        try {
+            cursor = seekRow(sheetData, partName, rowOffset, rowIndex);
+        } finally {
+            if (cursor == null) {
+                sheetData.close();
+            }
+        }
+        if (cursor != null) {
+            return cursor;
+        }
+        // The hint is stale or points past the row, so read the sheet from the start
+        return new SheetCursor(part.getInputStream(), partName, 0, 0);
+    }
+    
+    private SheetCursor seekRow(InputStream sheetData, String partName, long rowOffset, int rowIndex) throws IOException {
+        // The sheet XML up to the sheetData start tag, which declares the namespaces the rows are parsed in
+        byte[] buffer = new byte[SEEK_BUFFER_SIZE];
+        int length = 0;
+        int prefixLength = -1;
+        while (prefixLength < 0) {
+            if (length == buffer.length) {
+                if (length >= rowOffset || length >= MAX_SHEET_HEAD) {
+                    return null;
+                }
+                buffer = Arrays.copyOf(buffer, length * 2);
+            }
+            int read = sheetData.read(buffer, length, buffer.length - length);
+            if (read < 0) {
+                return null;
+            }
+            length += read;
+            int tagStart = indexOfTag(buffer, 0, length, SHEET_DATA_TAG);
+            int tagEnd = tagStart >= 0 ? indexOf(buffer, tagStart, length, (byte) '>') : -1;
+            if (tagEnd >= 0) {
+                if (buffer[tagEnd - 1] == '/') {
+                    // No rows at all
+                    return null;
+                }
+                prefixLength = tagEnd + 1;
+            }
+        }
+        byte[] prefix = Arrays.copyOf(buffer, prefixLength);
+        
+        // Inflate up to the offset without parsing, keeping whatever was already read past it
+        long windowStart = Math.max(rowOffset, prefixLength);
+        int windowLength = 0;
+        if (windowStart < length) {
+            windowLength = length - (int) windowStart;
+            System.arraycopy(buffer, (int) windowStart, buffer, 0, windowLength);
+        } else {
+            long remaining = windowStart - length;
+            while (remaining > 0) {
+                ExcelReaderUtil.checkInterrupted();
+                int read = sheetData.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    return null;
+                }
+                remaining -= read;
+            }
+        }
+        
+        while (true) {
+            int rowStart = indexOfTag(buffer, 0, windowLength, ROW_TAG);
+            int rowEnd = rowStart >= 0 ? indexOf(buffer, rowStart, windowLength, (byte) '>') : -1;
+            if (rowEnd >= 0) {
+                // Rows without a reference take their index from the row before, which was not parsed
+                int rowRef = rowReference(buffer, rowStart, rowEnd);
+                if (rowRef <= 0 || rowRef - 1 > rowIndex) {
+                    return null;
+                }
+                long rowPosition = windowStart + rowStart;
+                InputStream rows = new SequenceInputStream(new ByteArrayInputStream(buffer, rowStart, windowLength - rowStart), sheetData);
+                return new SheetCursor(new SequenceInputStream(new ByteArrayInputStream(prefix), rows), partName,
+                        rowPosition - prefixLength, rowPosition);
+            }
+            
+            // Keep a row tag cut off by the end of the window, or what may be the start of one
+            int keep = rowStart >= 0 ? rowStart : Math.max(0, windowLength - ROW_TAG.length);
+            System.arraycopy(buffer, keep, buffer, 0, windowLength - keep);
+            windowStart += keep;
+            windowLength -= keep;
+            if (windowLength == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            int read = sheetData.read(buffer, windowLength, buffer.length - windowLength);
+            if (read < 0) {
+                return null;
+            }
+            windowLength += read;
+        }
+    }
+    
+    /**
+     * @return Position of the first start tag with this name (including the '<') whose name is complete in the buffer, or -1
+     */
+    private static int indexOfTag(byte[] buffer, int from, int to, byte[] tag) {
+        for (int i = from; i + tag.length < to; i++) {
+            if (buffer[i] == '<' && Arrays.equals(buffer, i, i + tag.length, tag, 0, tag.length)) {
+                byte next = buffer[i + tag.length];
+                if (next == '>' || next == '/' || next == ' ' || next == '\t' || next == '\r' || next == '\n') {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    private static int indexOf(byte[] buffer, int from, int to, byte b) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * @return Value of the r attribute of the row tag between tagStart and tagEnd (1-based), or -1 if it has none
+     */
+    private static int rowReference(byte[] buffer, int tagStart, int tagEnd) {
+        for (int i = tagStart + ROW_TAG.length; i + 2 < tagEnd; i++) {
+            byte quote = buffer[i + 2];
+            if (buffer[i] == 'r' && buffer[i + 1] == '=' && (quote == '"' || quote == '\'') && buffer[i - 1] <= ' ') {
+                int value = 0;
+                int digit = i + 3;
+                while (digit < tagEnd && buffer[digit] >= '0' && buffer[digit] <= '9') {
+                    value = value * 10 + (buffer[digit++] - '0');
+                }
+                return digit > i + 3 && buffer[digit] == quote ? value : -1;
+            }
+        }
+        return -1;
+    }
+    
+    private static void pushRows(ExcelReaderUtil.RowCursor cursor, ExcelReaderUtil.CellRowHandler handler) throws IOException {
+        while (cursor.next()) {
+            handler.handleRow(cursor.getRowIndex(), cursor.getColumnIndexes(), cursor.getRowData());
+        }
+    }
+    
+    private static void parseSheet(InputStream sheetData, DefaultHandler contentHandler) throws IOException {
+        try {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(contentHandler);
+            xmlReader.parse(new InputSource(sheetData));
+        } catch (StopParsingException e) {
+            // Raised by handlers that have seen everything they need
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new IOException("Unable to parse sheet data", e);
+        }
+    }
+    
+    private static int countRows(InputStream sheetData) throws IOException {
+        RowCountHandler counter = new RowCountHandler();
+        parseSheet(sheetData, counter);
+        return counter.lastRowIndex + 1;
+    }
+    
+    /**
+     * Convert a raw cell from the sheet XML into the same value getCellValue would return
+     * 
+     * @param type Value of the cell's t attribute (may be null)
+     * @param styleIndex Value of the cell's s attribute
+     * @param formula Whether the cell holds a formula
+     * @param raw Text of the cell's value element (may be null)
+     * @param strings Dictionary deduplicating string values, or null to return each string as read
+     * @return Object representation of the cell value
+     */
+    private Object decodeCell(String type, int styleIndex, boolean formula, String raw, StringDictionary strings) {
+        if (raw == null) {
+            return null;
+        }
+        
+        if (type == null || "n".equals(type)) {
+            double value = Double.parseDouble(raw);
+            // Formula results are returned as plain numbers, matching getFormulaCellValue
+            if (!formula && DateUtil.isValidExcelDate(value) && isDateStyle(styleIndex)) {
+                return DateUtil.getJavaDate(value, date1904);
+            }
+            return value;
+        }
+        
+        switch (type) {
+            case "s":
+                int index = Integer.parseInt(raw.trim());
+                return strings != null ? strings.sharedString(index, this::sharedString) : sharedString(index);
+            case "b":
+                return "1".equals(raw.trim()) || "true".equalsIgnoreCase(raw.trim());
+            case "inlineStr":
+            case "str":
+            case "e":
+            default:
+                return strings != null ? strings.intern(raw) : raw;
+        }
+    }
+    
+    private String sharedString(int index) {
+        if (mappedStrings != null) {
+            return mappedStrings.getString(index);
+        }
+        
+        SharedStrings table = sharedStrings;
+        if (table == null) {
+            synchronized (this) {
+                table = sharedStrings;
+                if (table == null) {
+                    try {
+                        table = loadSharedStrings(pkg);
+                    } catch (IOException | SAXException e) {
+                        throw new IllegalStateException("Unable to read shared strings", e);
+                    }
+                    sharedStrings = table;
+                }
+            }
+        }
+        return table.getItemAt(index).getString();
+    }
+    
+    /**
+     * Load the shared strings table onto the heap. Phonetic runs are left out, as in XSSFRichTextString.getString.
+     */
+    private static SharedStrings loadSharedStrings(OPCPackage pkg) throws IOException, SAXException {
+        return new ReadOnlySharedStringsTable(pkg, false);
+    }
+    
+    /**
+     * Spill the shared strings table to a memory-mapped temp file
+     */
+    private static MappedSharedStrings mapSharedStrings(OPCPackage pkg) throws IOException, OpenXML4JException {
+        List<PackagePart> parts = pkg.getPartsByContentType(XSSFRelation.SHARED_STRINGS.getContentType());
+        if (parts.isEmpty()) {
+            return MappedSharedStrings.load(new ByteArrayInputStream(EMPTY_SHARED_STRINGS));
+        }
+        try (InputStream sharedStringsData = parts.get(0).getInputStream()) {
+            return MappedSharedStrings.load(sharedStringsData);
+        }
+    }
+    
+    private boolean isDateStyle(int styleIndex) {
+        return dateStyles.computeIfAbsent(styleIndex, index -> {
+            if (styles == null || index >= styles.getNumCellStyles()) {
+                return false;
+            }
+            XSSFCellStyle style = styles.getStyleAt(index);
+            return style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+        });
+    }
+    
+    /**
+     * Read the date1904 flag from workbook.xml
+     */
+    private static boolean readDate1904(XSSFReader reader) throws IOException, OpenXML4JException, SAXException {
+        boolean[] date1904 = new boolean[1];
+        try (InputStream workbookData = reader.getWorkbookData()) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        String value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+            xmlReader.parse(new InputSource(workbookData));
+        } catch (ParserConfigurationException e) {
+            throw new IOException("Unable to create XML parser", e);
+        }
+        return date1904[0];
+    }
+    
+    /**
+     * Convert a column reference such as "AB12" to a 0-based column index
+     */
+    static int columnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            column = column * 26 + (ch - 'A' + 1);
+        }
+        return column - 1;
+    }
+    
+    /**
+     * Convert a cell reference such as "AB12" to a 0-based row index
+     */
+    static int rowIndex(String cellRef) {
+        int start = 0;
+        while (start < cellRef.length() && !Character.isDigit(cellRef.charAt(start))) {
+            start++;
+        }
+        return Integer.parseInt(cellRef.substring(start)) - 1;
+    }
+    
+    /**
+     * Decode the _xHHHH_ escapes OOXML uses for characters XML cannot hold, as XSSFRichTextString.getString does
+     */
+    static String decodeEscapes(String text) {
+        int escape = text.indexOf("_x");
+        if (escape < 0) {
+            return text;
+        }
+        StringBuilder decoded = new StringBuilder(text.length());
+        int copied = 0;
+        while (escape >= 0) {
+            if (escape + 7 <= text.length() && text.charAt(escape + 6) == '_' && isHex(text, escape + 2, escape + 6)) {
+                decoded.append(text, copied, escape).append((char) Integer.parseInt(text.substring(escape + 2, escape + 6), 16));
+                copied = escape + 7;
+                escape = text.indexOf("_x", copied);
+            } else {
+                escape = text.indexOf("_x", escape + 1);
+            }
+        }
+        return decoded.append(text, copied, text.length()).toString();
+    }
+    
+    private static boolean isHex(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char ch = text.charAt(i);
+            if (!(ch >= '0' && ch <= '9' || ch >= 'A' && ch <= 'F' || ch >= 'a' && ch <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * StAX cursor that reads one row element of the sheet XML per call to next().
+     * Cells are kept as raw text until they are requested, so a row can be checked on a few cells
+     * without decoding the rest of it.
+     */
+    private final class SheetCursor implements ExcelReaderUtil.RowCursor {
+        
+        private final InputStream sheetData;
+        private final XMLStreamReader xml;
+        private final String sheetPart;
+        
+        // Offsets of the sheet XML, for resuming; the parser reports character offsets of the stream it was given
+        private final long offsetShift;
+        private long parsedLength;
+        private int lastCharacterOffset;
+        private long rowOffset = -1;
+        private long nextRowOffset;
+        
+        private int rowIndex = -1;
+        private int columnIndex;
+        private BitSet selectedColumns;
+        private StringDictionary strings;
+        private boolean skipping;
+        
+        private String cellType;
+        private int cellStyle;
+        private boolean cellFormula;
+        private String cellValue;
+        
+        // Raw cells of the current row, reused from row to row
+        private int cellCount;
+        private int[] columnIndexes = new int[16];
+        private String[] cellTypes = new String[16];
+        private int[] cellStyles = new int[16];
+        private boolean[] cellFormulas = new boolean[16];
+        private String[] cellValues = new String[16];
+        private Object[] decodedValues = new Object[16];
+        private List<Object> rowData;
+        
+        /**
+         * @param sheetData Sheet XML to parse
+         * @param sheetPart Name of the zip entry holding the sheet
+         * @param offsetShift Offset in the sheet part of the start of sheetData, less any XML put in front of it
+         * @param firstRowOffset Offset in the sheet part at or before the first row of sheetData
+         */
+        SheetCursor(InputStream sheetData, String sheetPart, long offsetShift, long firstRowOffset) throws IOException {
+            this.sheetData = sheetData;
+            this.sheetPart = sheetPart;
+            this.offsetShift = offsetShift;
+            this.nextRowOffset = firstRowOffset;
+            try {
+                this.xml = XML_INPUT_FACTORY.createXMLStreamReader(sheetData);
+            } catch (XMLStreamException e) {
+                sheetData.close();
+                throw new IOException("Unable to parse sheet data", e);
+            }
+        }
+        
+        @Override
+        public boolean skipRow() throws IOException {
+            skipping = true;
+            try {
+                return next();
+            } finally {
+                skipping = false;
+            }
+        }
+        
+        @Override
+        public boolean next() throws IOException {
+            try {
+                while (xml.hasNext()) {
+                    int event = xml.next();
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        startElement(xml.getLocalName());
+                    } else if (event == XMLStreamConstants.END_ELEMENT) {
+                        String localName = xml.getLocalName();
+                        if ("c".equals(localName)) {
+                            addCell();
+                        } else if ("row".equals(localName)) {
+                            // The row ends where the next one may start, so that is the offset to resume the next row from
+                            rowOffset = nextRowOffset;
+                            nextRowOffset = currentOffset();
+                            return true;
+                        }
+                    }
+                }
+                cellCount = 0;
+                rowData = null;
+                rowOffset = -1;
+                return false;
+            } catch (XMLStreamException e) {
+                throw new IOException("Unable to parse sheet data", e);
+            }
+        }
+        
+        /**
+         * @return Characters parsed so far, as an offset in the sheet part; characters are at most as many as the bytes they
+         * were decoded from, so the offset never lies past the parser's position
+         */
+        private long currentOffset() {
+            int characterOffset = xml.getLocation().getCharacterOffset();
+            // The parser's offset is an int, so add up the distance travelled to stay valid past 2 GB of XML
+            parsedLength += (characterOffset - lastCharacterOffset) & 0xFFFFFFFFL;
+            lastCharacterOffset = characterOffset;
+            return parsedLength + offsetShift;
+        }
+        
+        private void startElement(String localName) throws XMLStreamException {
+            switch (localName) {
+                case "row":
+                    String rowRef = xml.getAttributeValue(null, "r");
+                    rowIndex = rowRef != null ? Integer.parseInt(rowRef) - 1 : rowIndex + 1;
+                    columnIndex = -1;
+                    cellCount = 0;
+                    rowData = null;
+                    break;
+                case "c":
+                    String cellRef = xml.getAttributeValue(null, "r");
+                    columnIndex = cellRef != null ? columnIndex(cellRef) : columnIndex + 1;
+                    if (skipping || (selectedColumns != null && !selectedColumns.get(columnIndex))) {
+                        // Skip the cell without reading its value, so no shared string is looked up
+                        skipElement();
+                        break;
+                    }
+                    cellType = xml.getAttributeValue(null, "t");
+                    String style = xml.getAttributeValue(null, "s");
+                    cellStyle = style != null ? Integer.parseInt(style) : 0;
+                    cellFormula = false;
+                    cellValue = null;
+                    break;
+                case "f":
+                    cellFormula = true;
+                    break;
+                case "v":
+                    cellValue = xml.getElementText();
+                    break;
+                case "is":
+                    cellValue = readInlineString();
+                    break;
+                default:
+                    break;
+            }
+        }
+        
+        private void addCell() {
+            if (cellCount == columnIndexes.length) {
+                int capacity = cellCount * 2;
+                columnIndexes = Arrays.copyOf(columnIndexes, capacity);
+                cellTypes = Arrays.copyOf(cellTypes, capacity);
+                cellStyles = Arrays.copyOf(cellStyles, capacity);
+                cellFormulas = Arrays.copyOf(cellFormulas, capacity);
+                cellValues = Arrays.copyOf(cellValues, capacity);
+                decodedValues = Arrays.copyOf(decodedValues, capacity);
+            }
+            columnIndexes[cellCount] = columnIndex;
+            cellTypes[cellCount] = cellType;
+            cellStyles[cellCount] = cellStyle;
+            cellFormulas[cellCount] = cellFormula;
+            cellValues[cellCount] = cellValue;
+            decodedValues[cellCount] = UNDECODED;
+            cellCount++;
+        }
+        
+        /**
+         * Move past the end of the current element, including its end tag
+         */
+        private void skipElement() throws XMLStreamException {
+            int depth = 1;
+            while (depth > 0) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++;
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    depth--;
+                }
+            }
+        }
+        
+        /**
+         * Collect the text runs of an inline string, skipping phonetic runs and decoding _xHHHH_ escapes
+         */
+        private String readInlineString() throws XMLStreamException {
+            StringBuilder text = new StringBuilder();
+            int phoneticDepth = 0;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phoneticDepth++;
+                    } else if ("t".equals(xml.getLocalName()) && phoneticDepth == 0) {
+                        text.append(xml.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if ("rPh".equals(xml.getLocalName())) {
+                        phoneticDepth--;
+                    } else if ("is".equals(xml.getLocalName())) {
+                        break;
+                    }
+                }
+            }
+            return decodeEscapes(text.toString());
+        }
+        
+        @Override
+        public int getRowIndex() {
+            return rowIndex;
+        }
+        
+        @Override
+        public String getSheetPart() {
+            return sheetPart;
+        }
+        
+        @Override
+        public long getRowOffset() {
+            return rowOffset;
+        }
+        
+        @Override
+        public int[] getColumnIndexes() {
+            return columnIndexes;
+        }
+        
+        @Override
+        public int getCellCount() {
+            return cellCount;
+        }
+        
+        @Override
+        public Object getCellValue(int cell) {
+            if (decodedValues[cell] == UNDECODED) {
+                decodedValues[cell] = decodeCell(cellTypes[cell], cellStyles[cell], cellFormulas[cell], cellValues[cell], strings);
+            }
+            return decodedValues[cell];
+        }
+        
+        @Override
+        public List<Object> getRowData() {
+            if (rowData == null) {
+                rowData = new ArrayList<>(cellCount);
+                for (int cell = 0; cell < cellCount; cell++) {
+                    rowData.add(getCellValue(cell));
+                }
+            }
+            return rowData;
+        }
+        
+        @Override
+        public void selectColumns(BitSet columns) {
+            selectedColumns = columns;
+        }
+        
+        @Override
+        public void deduplicateStrings(StringDictionary strings) {
+            this.strings = strings;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            try {
+                xml.close();
+            } catch (XMLStreamException e) {
+                throw new IOException("Unable to close sheet data", e);
+            } finally {
+                sheetData.close();
+            }
+        }
+    }
+    
+    /**
+     * Thrown by a handler to stop the SAX parser once it has what it needs
+     */
+    private static final class StopParsingException extends SAXException {
+        
+        private static final long serialVersionUID = 1L;
+        
+        StopParsingException() {
+            super("Parsing stopped");
+        }
+    }
+    
+    /**
+     * SAX handler that finds the last row index from the dimension element or the row tags, ignoring cells
+     */
+    private static final class RowCountHandler extends DefaultHandler {
+        
+        private int lastRowIndex = -1;
+        
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if ("dimension".equals(localName)) {
+                String ref = attributes.getValue("ref");
+                int separator = ref != null ? ref.indexOf(':') : -1;
+                // A single-cell ref is also written for empty sheets, so only trust a full range
+                if (separator > 0) {
+                    lastRowIndex = rowIndex(ref.substring(separator + 1));
+                    throw new StopParsingException();
+                }
+            } else if ("row".equals(localName)) {
+                String rowRef = attributes.getValue("r");
+                lastRowIndex = rowRef != null ? Integer.parseInt(rowRef) - 1 : lastRowIndex + 1;
+            }
+        }
+    }
+}
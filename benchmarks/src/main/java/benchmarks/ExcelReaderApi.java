@@ -0,0 +1,89 @@
+package benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls into ExcelReaderUtil. The library lives in the default package, which named packages cannot import,
+ * and JMH refuses benchmarks in the default package, so its methods are bound once as static final method handles
+ * (which the JIT inlines like direct calls).
+ */
+final class ExcelReaderApi {
+    
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final Class<?> UTIL = load("ExcelReaderUtil");
+    private static final Class<?> OPTIONS = load("ExcelReaderUtil$ReadOptions");
+    
+    private static final MethodHandle READ_SHEET = find("readSheet", List.class, String.class, String.class);
+    private static final MethodHandle READ_SHEET_WITH_OPTIONS = find("readSheet", List.class, String.class, String.class, OPTIONS);
+    private static final MethodHandle READ_SHEET_AS_MAP = find("readSheetAsMap", List.class, String.class, String.class);
+    private static final MethodHandle READ_ENTIRE_WORKBOOK = find("readEntireWorkbook", List.class, String.class);
+    private static final MethodHandle GET_ROW_COUNT = find("getRowCount", int.class, String.class, String.class);
+    private static final MethodHandle GET_NON_EMPTY_ROW_COUNT = find("getNonEmptyRowCount", int.class, String.class, String.class);
+    
+    private static final MethodHandle NEW_OPTIONS;
+    private static final MethodHandle USE_CACHED_FORMULA_RESULTS;
+    
+    static {
+        try {
+            NEW_OPTIONS = LOOKUP.findConstructor(OPTIONS, MethodType.methodType(void.class));
+            USE_CACHED_FORMULA_RESULTS = LOOKUP.findVirtual(OPTIONS, "useCachedFormulaResults", MethodType.methodType(OPTIONS, boolean.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private ExcelReaderApi() {
+    }
+    
+    static List<?> readSheet(String filePath, String sheetName) throws Throwable {
+        return (List<?>) READ_SHEET.invoke(filePath, sheetName);
+    }
+    
+    static List<?> readSheet(String filePath, String sheetName, Object options) throws Throwable {
+        return (List<?>) READ_SHEET_WITH_OPTIONS.invoke(filePath, sheetName, options);
+    }
+    
+    @SuppressWarnings("unchecked")
+    static List<Map<String, Object>> readSheetAsMap(String filePath, String sheetName) throws Throwable {
+        return (List<Map<String, Object>>) READ_SHEET_AS_MAP.invoke(filePath, sheetName);
+    }
+    
+    static List<?> readEntireWorkbook(String filePath) throws Throwable {
+        return (List<?>) READ_ENTIRE_WORKBOOK.invoke(filePath);
+    }
+    
+    static int getRowCount(String filePath, String sheetName) throws Throwable {
+        return (int) GET_ROW_COUNT.invoke(filePath, sheetName);
+    }
+    
+    static int getNonEmptyRowCount(String filePath, String sheetName) throws Throwable {
+        return (int) GET_NON_EMPTY_ROW_COUNT.invoke(filePath, sheetName);
+    }
+    
+    /**
+     * @return A ReadOptions that returns cached formula results, which makes readSheet use the streaming readers
+     */
+    static Object cachedFormulaOptions() throws Throwable {
+        return USE_CACHED_FORMULA_RESULTS.invoke(NEW_OPTIONS.invoke(), true);
+    }
+    
+    private static Class<?> load(String className) {
+        try {
+            return Class.forName(className);
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+    
+    private static MethodHandle find(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findStatic(UTIL, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package benchmarks;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+/**
+ * Synthetic workbooks for the benchmarks. Each fixture has a "Data" sheet with a header row, and a second
+ * smaller sheet so readEntireWorkbook reads more than one sheet. Files are generated once per shape, format
+ * and scale into java.io.tmpdir/excel-reader-benchmarks and reused by later runs.
+ */
+public final class Fixtures {
+    
+    /** Name of the sheet the single-sheet benchmarks read */
+    static final String SHEET = "Data";
+    
+    /** .xls sheets are limited to 65536 rows and 256 columns */
+    private static final int XLS_MAX_ROWS = 65535;
+    
+    private static final String[] COUNTRIES = {"DE", "FR", "US", "JP", "BR", "IN", "GB", "NL"};
+    private static final String[] STATUSES = {"ACTIVE", "INACTIVE", "PENDING"};
+    
+    /**
+     * Shape of the generated Data sheet
+     */
+    public enum Shape {
+        /** 10 numeric columns, one of them date-formatted */
+        NUMERIC(20_000, 10),
+        /** 10 string columns: 3 categorical, 7 mostly unique */
+        STRING(20_000, 10),
+        /** 5 numeric columns and 5 formulas over them, with cached results */
+        FORMULA(20_000, 10),
+        /** 50 columns with 3 cells per row, and every third row missing */
+        SPARSE(20_000, 50),
+        /** 250 columns of mixed numbers and strings */
+        WIDE(2_000, 250),
+        /** 4 mixed columns over the most rows an .xls sheet can hold */
+        TALL(65_000, 4);
+        
+        final int rows;
+        final int columns;
+        
+        Shape(int rows, int columns) {
+            this.rows = rows;
+            this.columns = columns;
+        }
+    }
+    
+    private Fixtures() {
+    }
+    
+    /**
+     * Get the fixture for a shape, generating it if it does not exist yet
+     * 
+     * @param shape Shape of the Data sheet
+     * @param format "xls" or "xlsx"
+     * @param scale Multiplier for the number of rows (.xls files stay within the format's row limit)
+     * @return Path to the fixture
+     * @throws IOException If the fixture cannot be written
+     */
+    static String get(Shape shape, String format, int scale) throws IOException {
+        Path dir = Paths.get(System.getProperty("java.io.tmpdir"), "excel-reader-benchmarks");
+        Path file = dir.resolve(shape.name().toLowerCase() + "-x" + scale + "." + format);
+        if (Files.exists(file)) {
+            return file.toString();
+        }
+        
+        Files.createDirectories(dir);
+        // Write under a temporary name so an interrupted run never leaves a truncated fixture behind
+        Path partial = Files.createTempFile(dir, file.getFileName().toString(), ".partial");
+        try {
+            boolean xls = "xls".equals(format);
+            int rows = xls ? Math.min(shape.rows * scale, XLS_MAX_ROWS) : shape.rows * scale;
+            try (Workbook workbook = xls ? new HSSFWorkbook() : new SXSSFWorkbook(null, 100, false, true);
+                 OutputStream out = Files.newOutputStream(partial)) {
+                fill(workbook, workbook.createSheet(SHEET), shape, rows);
+                fill(workbook, workbook.createSheet("Summary"), Shape.NUMERIC, 100);
+                workbook.write(out);
+                if (workbook instanceof SXSSFWorkbook) {
+                    ((SXSSFWorkbook) workbook).dispose();
+                }
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return file.toString();
+    }
+    
+    private static void fill(Workbook workbook, Sheet sheet, Shape shape, int rows) {
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        Random random = new Random(42);
+        
+        Row header = sheet.createRow(0);
+        for (int c = 0; c < shape.columns; c++) {
+            header.createCell(c).setCellValue("col" + c);
+        }
+        
+        for (int r = 1; r <= rows; r++) {
+            if (shape == Shape.SPARSE && r % 3 == 0) {
+                continue;
+            }
+            Row row = sheet.createRow(r);
+            switch (shape) {
+                case NUMERIC:
+                    for (int c = 0; c < shape.columns; c++) {
+                        Cell cell = row.createCell(c);
+                        if (c == 1) {
+                            cell.setCellValue(40_000 + r % 3_000);
+                            cell.setCellStyle(dateStyle);
+                        } else {
+                            cell.setCellValue(random.nextDouble() * 1_000);
+                        }
+                    }
+                    break;
+                case STRING:
+                    row.createCell(0).setCellValue(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+                    row.createCell(1).setCellValue(STATUSES[random.nextInt(STATUSES.length)]);
+                    row.createCell(2).setCellValue("segment-" + random.nextInt(20));
+                    for (int c = 3; c < shape.columns; c++) {
+                        row.createCell(c).setCellValue("text " + r + "/" + c + " " + Long.toHexString(random.nextLong()));
+                    }
+                    break;
+                case FORMULA:
+                    for (int c = 0; c < 5; c++) {
+                        row.createCell(c).setCellValue(random.nextInt(1_000));
+                    }
+                    int excelRow = r + 1;
+                    row.createCell(5).setCellFormula("A" + excelRow + "*B" + excelRow);
+                    row.createCell(6).setCellFormula("SUM(A" + excelRow + ":E" + excelRow + ")");
+                    row.createCell(7).setCellFormula("IF(C" + excelRow + ">500,\"HIGH\",\"LOW\")");
+                    row.createCell(8).setCellFormula("ROUND(D" + excelRow + "/7,2)");
+                    row.createCell(9).setCellFormula("AND(A" + excelRow + ">B" + excelRow + ",E" + excelRow + "<500)");
+                    // Evaluate while the row is in memory, so the file carries cached results like one saved by Excel
+                    for (int c = 5; c < 10; c++) {
+                        evaluator.evaluateFormulaCell(row.getCell(c));
+                    }
+                    break;
+                case SPARSE:
+                    for (int i = 0; i < 3; i++) {
+                        int c = random.nextInt(shape.columns);
+                        if (row.getCell(c) != null) {
+                            continue;
+                        }
+                        if (i == 0) {
+                            row.createCell(c).setCellValue("s" + r);
+                        } else {
+                            row.createCell(c).setCellValue(random.nextInt(100));
+                        }
+                    }
+                    break;
+                case WIDE:
+                    for (int c = 0; c < shape.columns; c++) {
+                        if (c % 2 == 0) {
+                            row.createCell(c).setCellValue(random.nextInt(100_000));
+                        } else {
+                            row.createCell(c).setCellValue(CellReference.convertNumToColString(c) + (r % 50));
+                        }
+                    }
+                    break;
+                case TALL:
+                    row.createCell(0).setCellValue(r);
+                    row.createCell(1).setCellValue(COUNTRIES[r % COUNTRIES.length]);
+                    row.createCell(2).setCellValue(random.nextDouble());
+                    row.createCell(3).setCellValue(r % 2 == 0);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown shape: " + shape);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reports the peak resident set size of the forked benchmark JVM (VmHWM in /proc/self/status) after each iteration.
+ * Enable with "-prof benchmarks.PeakRssProfiler". Only available on Linux; elsewhere it reports nothing.
+ */
+public class PeakRssProfiler implements InternalProfiler {
+    
+    private static final Path STATUS = Paths.get("/proc/self/status");
+    
+    @Override
+    public String getDescription() {
+        return "Peak resident set size of the benchmark JVM (Linux only)";
+    }
+    
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+    }
+    
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        long peakKb = readPeakRssKb();
+        if (peakKb < 0) {
+            return Collections.emptyList();
+        }
+        // The high-water mark only grows within a fork, so the run reports the largest value seen
+        return Collections.singletonList(new ScalarResult("rss.peak", peakKb / 1024.0, "MB", AggregationPolicy.MAX));
+    }
+    
+    private static long readPeakRssKb() {
+        try {
+            List<String> lines = Files.readAllLines(STATUS);
+            for (String line : lines) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.substring("VmHWM:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux, or an unexpected format
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,82 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the ExcelReaderUtil read paths over every fixture shape, in both formats.
+ * Each invocation reads the file from disk, as callers do; the sheet cache is never installed.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ReadBenchmark {
+    
+    @Param({"xls", "xlsx"})
+    public String format;
+    
+    @Param({"NUMERIC", "STRING", "FORMULA", "SPARSE", "WIDE", "TALL"})
+    public Fixtures.Shape shape;
+    
+    @Param({"1"})
+    public int scale;
+    
+    private String filePath;
+    private Object cachedFormulaOptions;
+    
+    @Setup(Level.Trial)
+    public void setUp() throws Throwable {
+        filePath = Fixtures.get(shape, format, scale);
+        cachedFormulaOptions = ExcelReaderApi.cachedFormulaOptions();
+    }
+    
+    @Benchmark
+    public List<?> readSheet() throws Throwable {
+        return ExcelReaderApi.readSheet(filePath, Fixtures.SHEET);
+    }
+    
+    /**
+     * readSheet without formula evaluation, which reads through the streaming readers instead of the DOM
+     */
+    @Benchmark
+    public List<?> readSheetCachedFormulas() throws Throwable {
+        return ExcelReaderApi.readSheet(filePath, Fixtures.SHEET, cachedFormulaOptions);
+    }
+    
+    @Benchmark
+    public List<Map<String, Object>> readSheetAsMap() throws Throwable {
+        return ExcelReaderApi.readSheetAsMap(filePath, Fixtures.SHEET);
+    }
+    
+    @Benchmark
+    public List<?> readEntireWorkbook() throws Throwable {
+        return ExcelReaderApi.readEntireWorkbook(filePath);
+    }
+    
+    @Benchmark
+    public int getRowCount() throws Throwable {
+        return ExcelReaderApi.getRowCount(filePath, Fixtures.SHEET);
+    }
+    
+    @Benchmark
+    public int getNonEmptyRowCount() throws Throwable {
+        return ExcelReaderApi.getNonEmptyRowCount(filePath, Fixtures.SHEET);
+    }
+}
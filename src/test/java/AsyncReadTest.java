@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncReadTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void asyncReadsMatchSyncReads() throws Exception {
+        String file = Fixtures.xlsx(dir).toString();
+        
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET),
+                ExcelReaderUtil.readSheetAsync(file, Fixtures.SHEET).get(30, TimeUnit.SECONDS));
+        assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET),
+                ExcelReaderUtil.readSheetAsMapAsync(file, Fixtures.SHEET).get(30, TimeUnit.SECONDS));
+        assertEquals(ExcelReaderUtil.getRowCount(file, Fixtures.SHEET),
+                (int) ExcelReaderUtil.getRowCountAsync(file, Fixtures.SHEET).get(30, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void cancelledReadCompletesCancelled() throws Exception {
+        Path file = Fixtures.xlsx(dir);
+        
+        CompletableFuture<List<List<Object>>> read = ExcelReaderUtil.readSheetAsync(file.toString(), Fixtures.SHEET);
+        read.cancel(true);
+        
+        assertTrue(read.isCancelled());
+    }
+    
+    @Test
+    void syncReadIgnoresInterruptFlag() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        // Only reads started as async reads stop on interrupt; a plain call keeps the caller's interrupt status
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(expected, ExcelReaderUtil.readSheet(file, Fixtures.SHEET));
+            assertEquals(expected, ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, Integer.MAX_VALUE,
+                    new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true)));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+    }
+    
+    @Test
+    void interruptNotSentByCancelIsKept() throws Exception {
+        String file = Fixtures.xlsx(dir).toString();
+        ExcelReaderUtil.setAsyncExecutor(Runnable::run);
+        
+        // The read runs on this thread, which was interrupted by someone else before it started
+        Thread.currentThread().interrupt();
+        try {
+            ExcelReaderUtil.getRowCountAsync(file, Fixtures.SHEET);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+            ExcelReaderUtil.setAsyncExecutor(null);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchReaderTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void filesAreReadLikeReadSheetAsMapAndFailuresAreIsolated() throws Exception {
+        Path xlsx = Fixtures.xlsx(Files.createDirectory(dir.resolve("a")));
+        Path xls = Fixtures.xls(Files.createDirectory(dir.resolve("b")));
+        Path broken = Fixtures.text(dir, "broken.xlsx", "");
+        Map<String, List<Map<String, Object>>> handled = new ConcurrentHashMap<>();
+        
+        BatchReader.Report report = new BatchReader(Fixtures.SHEET).threads(2)
+                .run(List.of(xlsx.toString(), broken.toString(), xls.toString()), handled::put);
+        
+        assertEquals(3, report.getResults().size());
+        assertEquals(1, report.getFailures().size());
+        BatchReader.FileResult failure = report.getFailures().get(0);
+        assertEquals(broken.toString(), failure.getFilePath());
+        assertFalse(failure.isSuccess());
+        assertEquals(ExcelReaderUtil.readSheetAsMap(xlsx.toString(), Fixtures.SHEET), handled.get(xlsx.toString()));
+        assertEquals(ExcelReaderUtil.readSheetAsMap(xls.toString(), Fixtures.SHEET), handled.get(xls.toString()));
+        assertEquals(2L * handled.get(xlsx.toString()).size(), report.getRows());
+        assertTrue(report.getResults().get(0).getWaitNanos() >= 0);
+    }
+    
+    @Test
+    void cancellationThrownByTheHandlerFailsOnlyItsFile() throws Exception {
+        Path xlsx = Fixtures.xlsx(Files.createDirectory(dir.resolve("a")));
+        Path xls = Fixtures.xls(Files.createDirectory(dir.resolve("b")));
+        
+        // Only a read stopped by the batch's own interrupt abandons the batch
+        BatchReader.Report report = new BatchReader(Fixtures.SHEET).threads(2)
+                .run(List.of(xlsx.toString(), xls.toString()), (filePath, rows) -> {
+                    if (filePath.equals(xls.toString())) {
+                        throw new CancellationException("downstream cancelled");
+                    }
+                });
+        
+        assertEquals(1, report.getFailures().size());
+        assertEquals(xls.toString(), report.getFailures().get(0).getFilePath());
+        assertTrue(report.getResults().get(0).isSuccess());
+    }
+}
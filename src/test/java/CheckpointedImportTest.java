@@ -0,0 +1,140 @@
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointedImportTest {
+    
+    private static final int ROWS = 5_000;
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void resumedImportDeliversTheRemainingRows() throws IOException {
+        String file = tallSheet(ROWS).toString();
+        String state = dir.resolve("import.checkpoint").toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        List<List<Object>> imported = new ArrayList<>();
+        CheckpointedImport first = new CheckpointedImport(file, Fixtures.SHEET, state).batchSize(500);
+        assertThrows(IOException.class, () -> first.run((rows, lastRowIndex) -> {
+            if (lastRowIndex > 3_000) {
+                throw new IllegalStateException("downstream failure");
+            }
+            imported.addAll(rows);
+        }));
+        int committed = imported.size();
+        assertEquals(first.getLastCommittedRow(), lastSheetRow(file, committed));
+        assertTrue(checkpoint(state).containsKey("rowOffset"));
+        
+        long resumed = new CheckpointedImport(file, Fixtures.SHEET, state).batchSize(500).run((rows, lastRowIndex) -> imported.addAll(rows));
+        
+        assertEquals(expected.size() - committed, resumed);
+        assertEquals(expected, imported);
+        assertTrue(first.isComplete());
+        assertEquals(0, first.run((rows, lastRowIndex) -> imported.addAll(rows)));
+    }
+    
+    @Test
+    void staleOffsetFallsBackToRowIndex() throws IOException {
+        String file = tallSheet(ROWS).toString();
+        String state = dir.resolve("import.checkpoint").toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        CheckpointedImport importer = new CheckpointedImport(file, Fixtures.SHEET, state).batchSize(1_000);
+        List<List<Object>> imported = new ArrayList<>();
+        assertThrows(IOException.class, () -> importer.run((rows, lastRowIndex) -> {
+            if (!imported.isEmpty()) {
+                throw new IllegalStateException("downstream failure");
+            }
+            imported.addAll(rows);
+        }));
+        
+        Properties properties = checkpoint(state);
+        properties.setProperty("rowOffset", "17");
+        try (OutputStream out = Files.newOutputStream(Path.of(state))) {
+            properties.store(out, null);
+        }
+        importer.run((rows, lastRowIndex) -> imported.addAll(rows));
+        
+        assertEquals(expected, imported);
+    }
+    
+    @Test
+    void checkpointOfAnotherFileVersionIsRejected() throws IOException {
+        Path file = tallSheet(100);
+        String state = dir.resolve("import.checkpoint").toString();
+        CheckpointedImport importer = new CheckpointedImport(file.toString(), Fixtures.SHEET, state).batchSize(10);
+        importer.run((rows, lastRowIndex) -> {
+        });
+        
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+        
+        assertThrows(IllegalStateException.class, () -> importer.run((rows, lastRowIndex) -> {
+        }));
+        importer.reset();
+        assertEquals(ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET).size(), importer.run((rows, lastRowIndex) -> {
+        }));
+    }
+    
+    /**
+     * Write a sheet tall enough that resuming from an offset skips several buffers of sheet XML
+     * 
+     * @param rows Number of data rows after the header row; every 100th row index is left out
+     * @return Path of the workbook
+     */
+    private Path tallSheet(int rows) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet(Fixtures.SHEET);
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("id");
+            header.createCell(1).setCellValue("name");
+            for (int r = 1; r <= rows; r++) {
+                if (r % 100 != 50) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(r);
+                    row.createCell(1).setCellValue((r % 7 == 0 ? "naïve-日本-" : "name-") + (r % 100));
+                }
+            }
+            Path file = dir.resolve("tall.xlsx");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                workbook.write(out);
+            }
+            return file;
+        }
+    }
+    
+    /**
+     * @return Index in the sheet of the row at this position of readSheet, where every 100th row index is missing
+     */
+    private static int lastSheetRow(String file, int rows) throws IOException {
+        List<Integer> indexes = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> indexes.add(rowIndex));
+        return indexes.get(rows - 1);
+    }
+    
+    private static Properties checkpoint(String state) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(Path.of(state))) {
+            properties.load(in);
+        }
+        return properties;
+    }
+}
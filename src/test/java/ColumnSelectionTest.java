@@ -0,0 +1,110 @@
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ColumnSelectionTest {
+    
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    
+    @TempDir
+    Path dir;
+    
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    private String fixture(String kind) throws IOException {
+        Path file = kind.equals("xls") ? Fixtures.xls(dir) : kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir);
+        return file.toString();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls", "inline"})
+    void selectedColumnsAreReadAlike(String kind) throws IOException {
+        String file = fixture(kind);
+        
+        for (ExcelReaderUtil.ReadOptions options : Arrays.asList(new ExcelReaderUtil.ReadOptions().selectColumns("name", "status"),
+                new ExcelReaderUtil.ReadOptions().selectColumns(0, 2, 4))) {
+            List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, options);
+            
+            try (ExcelReaderUtil.WorkbookSession session = ExcelReaderUtil.open(file, options)) {
+                assertEquals(expected, session.readSheet(Fixtures.SHEET));
+            }
+        }
+        // The Other sheet has no named headers, so the whole workbook is read by index; the parallel read takes the
+        // streaming readers for .xlsx files
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().selectColumns(0, 2, 4);
+        assertEquals(ExcelReaderUtil.readEntireWorkbook(file, options), ExcelReaderUtil.readEntireWorkbook(file, options.parallelExecutor(pool)));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void selectedHeadersAreTheMapKeys(String kind) throws IOException {
+        String file = fixture(kind);
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().selectColumns("status", "id");
+        
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, options);
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET, options);
+        
+        assertEquals(Arrays.asList("id", "status"), rows.get(0));
+        assertEquals(Arrays.asList("id", "status"), Arrays.asList(maps.get(0).keySet().toArray()));
+        // The last row has no cells, so only its map has the selected keys
+        for (int i = 0; i < maps.size() - 1; i++) {
+            assertEquals(Arrays.asList(maps.get(i).values().toArray()), rows.get(i + 1));
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void headersAfterAGapMapToTheirOwnColumn(String kind) throws IOException {
+        // Column B has no header, so the header of column C is the second cell of the header row
+        Path file = dir.resolve("gap." + kind);
+        try (Workbook workbook = kind.equals("xls") ? new HSSFWorkbook() : new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet(Fixtures.SHEET);
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("a");
+            header.createCell(2).setCellValue("c");
+            Row row = sheet.createRow(1);
+            for (int c = 0; c < 3; c++) {
+                row.createCell(c).setCellValue(c + 1);
+            }
+            workbook.write(out);
+        }
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("a", 1.0);
+        expected.put("c", 3.0);
+        ExcelReaderUtil.ReadOptions selected = new ExcelReaderUtil.ReadOptions().selectColumns("c");
+        
+        assertEquals(List.of(expected), ExcelReaderUtil.readSheetAsMap(file.toString(), Fixtures.SHEET));
+        assertEquals(List.of(Map.of("c", 3.0)), ExcelReaderUtil.readSheetAsMap(file.toString(), Fixtures.SHEET, selected));
+        try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file.toString(), Fixtures.SHEET)) {
+            assertEquals(List.of(expected), rows.collect(Collectors.toList()));
+        }
+        try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file.toString(), Fixtures.SHEET, selected)) {
+            assertEquals(List.of(Map.of("c", 3.0)), rows.collect(Collectors.toList()));
+        }
+    }
+}
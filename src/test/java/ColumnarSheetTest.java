@@ -0,0 +1,85 @@
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ColumnarSheetTest {
+    
+    @TempDir
+    Path dir;
+    
+    private String fixture(String kind) throws IOException {
+        return kind.equals("xls") ? Fixtures.xls(dir).toString() : Fixtures.xlsx(dir).toString();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void valuesMatchReadSheet(String kind) throws IOException {
+        String file = fixture(kind);
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        ColumnarSheet sheet = ExcelReaderUtil.readSheetColumnar(file, Fixtures.SHEET, true);
+        
+        assertEquals(expected.size() - 1, sheet.getRowCount());
+        assertEquals(expected, sheet.toRows());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void columnTypesFollowTheData(String kind) throws IOException {
+        ColumnarSheet sheet = ExcelReaderUtil.readSheetColumnar(fixture(kind), Fixtures.SHEET, true);
+        
+        assertEquals(ColumnarSheet.ColumnType.NUMERIC, sheet.getColumnType(sheet.getColumnIndex("id")));
+        assertEquals(ColumnarSheet.ColumnType.BOOLEAN, sheet.getColumnType(sheet.getColumnIndex("active")));
+        assertEquals(ColumnarSheet.ColumnType.DATE, sheet.getColumnType(sheet.getColumnIndex("when")));
+        assertEquals("status", sheet.getColumnName(6));
+        // Data rows are numbered from 0 after the header row
+        assertEquals(3 * 1.5, sheet.getDouble(2, sheet.getColumnIndex("price")));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void headerOnlyColumnIsEmpty(String kind) throws IOException {
+        ColumnarSheet sheet = ExcelReaderUtil.readSheetColumnar(fixture(kind), Fixtures.SHEET, true);
+        int notes = sheet.getColumnIndex("notes");
+        
+        assertEquals(7, notes);
+        assertEquals(ColumnarSheet.ColumnType.EMPTY, sheet.getColumnType(notes));
+        assertFalse(sheet.hasCell(1, notes));
+        assertNull(sheet.getValue(1, notes));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void sheetWithoutRowZeroHasNoHeaders(String kind) throws IOException {
+        Path file = dir.resolve("headless." + kind);
+        try (Workbook workbook = kind.equals("xls") ? new HSSFWorkbook() : new XSSFWorkbook();
+             OutputStream out = Files.newOutputStream(file)) {
+            Sheet data = workbook.createSheet(Fixtures.SHEET);
+            for (int r = 1; r <= 3; r++) {
+                data.createRow(r).createCell(0).setCellValue(r);
+            }
+            workbook.write(out);
+        }
+        
+        ColumnarSheet sheet = ExcelReaderUtil.readSheetColumnar(file.toString(), Fixtures.SHEET, true);
+        
+        assertEquals(3, sheet.getRowCount());
+        assertNull(sheet.getColumnName(0));
+        assertEquals(1.0, sheet.getDouble(0, 0));
+        assertEquals(ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET), sheet.toRows());
+    }
+}
@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileFormatTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void formatIsDetectedFromContentNotExtension() throws IOException {
+        Path xlsx = Fixtures.xlsx(dir);
+        Path xls = Fixtures.xls(dir);
+        Path misnamedXlsx = Files.copy(xlsx, dir.resolve("report.xls"));
+        Path misnamedXls = Files.copy(xls, dir.resolve("legacy.xlsx"));
+        
+        assertEquals(FileFormat.XLSX, FileFormat.detect(misnamedXlsx.toString()));
+        assertEquals(FileFormat.XLS, FileFormat.detect(misnamedXls.toString()));
+        assertEquals(FileFormat.CSV, FileFormat.detect(Fixtures.text(dir, "export.xlsx", "a,b\n1,2\n").toString()));
+        assertEquals(ExcelReaderUtil.readSheet(xlsx.toString(), Fixtures.SHEET),
+                ExcelReaderUtil.readSheet(misnamedXlsx.toString(), Fixtures.SHEET));
+        assertEquals(ExcelReaderUtil.readSheet(xls.toString(), Fixtures.SHEET),
+                ExcelReaderUtil.readSheet(misnamedXls.toString(), Fixtures.SHEET));
+    }
+    
+    @Test
+    void emptyAndBinaryFilesAreRejected() throws IOException {
+        Path empty = Fixtures.text(dir, "empty.csv", "");
+        Path binary = dir.resolve("image.xlsx");
+        Files.write(binary, new byte[] {(byte) 0x89, 'P', 'N', 'G', 0, 0, 0, 13, 0, 1, 2, 3});
+        
+        assertThrows(IllegalArgumentException.class, () -> FileFormat.detect(empty.toString()));
+        assertThrows(IllegalArgumentException.class, () -> FileFormat.detect(binary.toString()));
+    }
+    
+    @Test
+    void csvStreamingMatchesReadSheet() throws IOException {
+        String file = Fixtures.text(dir, "orders.csv", "id;name;amount;paid\n"
+                + "1;\"Smith; John\";12.5;TRUE\n"
+                + "2;\"say \"\"hi\"\"\";-3e2;false\n"
+                + ";;;\n"
+                + "3;\"two\nlines\";;\n"
+                + "4;plain;007;\n").toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, "orders");
+        
+        List<List<Object>> streamed = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, "orders", (rowIndex, rowData) -> streamed.add(rowData));
+        
+        assertEquals(Arrays.asList("id", "name", "amount", "paid"), expected.get(0));
+        assertEquals(Arrays.asList(1.0, "Smith; John", 12.5, true), expected.get(1));
+        assertEquals(Arrays.asList(2.0, "say \"hi\"", -300.0, false), expected.get(2));
+        assertEquals(Arrays.asList(3.0, "two\nlines"), expected.get(3));
+        assertEquals(Arrays.asList(4.0, "plain", 7.0), expected.get(4));
+        assertEquals(expected, streamed);
+        assertEquals(expected.subList(2, 4), ExcelReaderUtil.readSheet(file, "orders", 2, 2,
+                new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true)));
+        assertEquals(ExcelReaderUtil.readSheetAsMap(file, "orders").size(), expected.size() - 1);
+    }
+}
@@ -0,0 +1,133 @@
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+
+/**
+ * One small workbook with the cases the readers treat specially, written as .xlsx, .xls and inline-string .xlsx.
+ * Large uniform sheets for throughput are generated by the benchmark Fixtures instead; this one only covers edge cases.
+ * The "Data" sheet has a missing row, a row without cells, sparse cells, a run of styled blank cells (a MulBlank record
+ * in .xls), dates, formulas with a cached error, an _xHHHH_ escaped string and a header without data below it.
+ */
+final class Fixtures {
+    
+    static final String SHEET = "Data";
+    static final String OTHER_SHEET = "Other";
+    
+    /** Header row of the Data sheet; "notes" has no data below it */
+    static final String[] HEADERS = {"id", "name", "price", "active", "when", "calc", "status", "notes"};
+    
+    /** Stored as _x000D_ in the file, read back as a carriage return */
+    static final String ESCAPED_NAME = "line_x000D_break";
+    
+    static final int LAST_DATA_ROW = 40;
+    static final int MISSING_ROW = 7;
+    static final int EMPTY_ROW = 45;
+    static final int BLANK_RUN_ROW = 9;
+    static final int ERROR_ROW = 5;
+    
+    private Fixtures() {
+    }
+    
+    /**
+     * @return Path of an .xlsx workbook with shared strings
+     */
+    static Path xlsx(Path dir) throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            return write(workbook, dir.resolve("data.xlsx"));
+        }
+    }
+    
+    /**
+     * @return Path of an .xls workbook
+     */
+    static Path xls(Path dir) throws IOException {
+        try (Workbook workbook = new HSSFWorkbook()) {
+            return write(workbook, dir.resolve("data.xls"));
+        }
+    }
+    
+    /**
+     * @return Path of an .xlsx workbook written by SXSSF, which stores strings inline in the sheet XML
+     */
+    static Path inlineStringsXlsx(Path dir) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook();
+        try {
+            return write(workbook, dir.resolve("inline.xlsx"));
+        } finally {
+            workbook.close();
+        }
+    }
+    
+    /**
+     * Write text as a file, e.g. a CSV file
+     */
+    static Path text(Path dir, String fileName, String content) throws IOException {
+        Path file = dir.resolve(fileName);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+    
+    private static Path write(Workbook workbook, Path file) throws IOException {
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        CellStyle filled = workbook.createCellStyle();
+        filled.setFillForegroundColor(IndexedColors.YELLOW.getIndex());
+        filled.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        
+        Sheet data = workbook.createSheet(SHEET);
+        Row header = data.createRow(0);
+        for (int i = 0; i < HEADERS.length; i++) {
+            header.createCell(i).setCellValue(HEADERS[i]);
+        }
+        for (int r = 1; r <= LAST_DATA_ROW; r++) {
+            if (r == MISSING_ROW) {
+                continue;
+            }
+            Row row = data.createRow(r);
+            row.createCell(0).setCellValue(r);
+            if (r == 3) {
+                row.createCell(1).setCellValue(ESCAPED_NAME);
+            } else if (r % 5 != 0) {
+                row.createCell(1).setCellValue("n" + (r % 4));
+            }
+            row.createCell(2).setCellValue(r * 1.5);
+            row.createCell(3).setCellValue(r % 2 == 0);
+            Cell when = row.createCell(4);
+            when.setCellValue(new Date(120, 0, r));
+            when.setCellStyle(dateStyle);
+            row.createCell(5).setCellFormula(r == ERROR_ROW ? "1/0" : "A" + (r + 1) + "*C" + (r + 1));
+            row.createCell(6).setCellValue(r % 3 == 0 ? "ACTIVE" : "INACTIVE");
+            if (r == BLANK_RUN_ROW) {
+                for (int c = 9; c < 13; c++) {
+                    row.createCell(c).setCellStyle(filled);
+                }
+            }
+        }
+        data.createRow(EMPTY_ROW);
+        
+        Sheet other = workbook.createSheet(OTHER_SHEET);
+        for (int r = 0; r < 3; r++) {
+            other.createRow(r).createCell(0).setCellValue("other " + r);
+        }
+        
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        try (OutputStream out = Files.newOutputStream(file)) {
+            workbook.write(out);
+        }
+        return file;
+    }
+}
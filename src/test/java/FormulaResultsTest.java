@@ -0,0 +1,34 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FormulaResultsTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void cachedResultsMatchEvaluatedResults() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        ExcelReaderUtil.ReadOptions cached = new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true);
+        
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, cached));
+        assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET), ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET, cached));
+    }
+    
+    @Test
+    void cachedErrorMatchesEvaluatedError() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        ExcelReaderUtil.ReadOptions cached = new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true);
+        
+        Object evaluated = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET).get(Fixtures.ERROR_ROW - 1).get("calc");
+        Object cachedResult = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET, cached).get(Fixtures.ERROR_ROW - 1).get("calc");
+        
+        assertEquals("#DIV/0!", evaluated);
+        assertEquals(evaluated, cachedResult);
+    }
+}
@@ -0,0 +1,52 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsListenerTest {
+    
+    @TempDir
+    Path dir;
+    
+    @AfterEach
+    void removeListener() {
+        ExcelReaderUtil.setMetricsListener(null);
+    }
+    
+    @Test
+    void countsMatchTheReadRows() throws IOException {
+        Path file = Fixtures.xlsx(dir);
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET);
+        Map<ReadMetricsListener.Count, Long> counts = new EnumMap<>(ReadMetricsListener.Count.class);
+        Map<ReadMetricsListener.Phase, Integer> phases = new EnumMap<>(ReadMetricsListener.Phase.class);
+        ExcelReaderUtil.setMetricsListener(new ReadMetricsListener() {
+            @Override
+            public void recordTime(Phase phase, long durationNanos) {
+                phases.merge(phase, 1, Integer::sum);
+            }
+            
+            @Override
+            public void increment(Count count, long amount) {
+                counts.merge(count, amount, Long::sum);
+            }
+        });
+        
+        ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET);
+        
+        assertEquals(rows.size(), (long) counts.get(ReadMetricsListener.Count.ROWS));
+        assertEquals(rows.stream().mapToLong(List::size).sum(), (long) counts.get(ReadMetricsListener.Count.CELLS));
+        assertEquals(Files.size(file), (long) counts.get(ReadMetricsListener.Count.BYTES));
+        assertTrue(counts.get(ReadMetricsListener.Count.FORMULAS) > 0);
+        assertEquals(1, (int) phases.get(ReadMetricsListener.Phase.OPEN));
+        assertEquals(1, (int) phases.get(ReadMetricsListener.Phase.SHEET));
+    }
+}
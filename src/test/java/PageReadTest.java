@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PageReadTest {
+    
+    @TempDir
+    Path dir;
+    
+    private String fixture(String kind) throws IOException {
+        Path file = kind.equals("xls") ? Fixtures.xls(dir) : kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir);
+        return file.toString();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls", "inline"})
+    void pagesMatchSubListOfReadSheet(String kind) throws IOException {
+        String file = fixture(kind);
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        ExcelReaderUtil.ReadOptions cached = new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true);
+        
+        for (int fromRow : new int[] {0, 1, 6, 7, 30, expected.size() - 1, expected.size(), expected.size() + 5}) {
+            for (int limit : new int[] {0, 1, 5, 100}) {
+                int from = Math.min(fromRow, expected.size());
+                List<List<Object>> page = expected.subList(from, Math.min(expected.size(), from + limit));
+                assertEquals(page, ExcelReaderUtil.readSheet(file, Fixtures.SHEET, fromRow, limit, cached),
+                        "streamed page " + fromRow + "+" + limit);
+                assertEquals(page, ExcelReaderUtil.readSheet(file, Fixtures.SHEET, fromRow, limit),
+                        "DOM page " + fromRow + "+" + limit);
+            }
+        }
+        try (ExcelReaderUtil.WorkbookSession session = ExcelReaderUtil.open(file)) {
+            assertEquals(expected.subList(5, 15), session.readSheet(Fixtures.SHEET, 5, 10));
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void pagesOfSelectedColumnsMatchSubListOfReadSheet(String kind) throws IOException {
+        String file = fixture(kind);
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().selectColumns("name", "status");
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, options);
+        
+        assertEquals(expected.subList(0, 4), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, 4, options));
+        assertEquals(expected.subList(2, 4), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 2, 2, options.useCachedFormulaResults(true)));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void negativeRangeIsRejected(String kind) throws IOException {
+        String file = fixture(kind);
+        
+        assertThrows(IllegalArgumentException.class, () -> ExcelReaderUtil.readSheet(file, Fixtures.SHEET, -1, 5));
+        assertThrows(IllegalArgumentException.class, () -> ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, -5));
+    }
+}
@@ -0,0 +1,33 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelReadTest {
+    
+    private final ExecutorService pool = Executors.newFixedThreadPool(2);
+    
+    @TempDir
+    Path dir;
+    
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void parallelReadMatchesSequentialRead(String kind) throws IOException {
+        String file = (kind.equals("xls") ? Fixtures.xls(dir) : Fixtures.xlsx(dir)).toString();
+        
+        assertEquals(ExcelReaderUtil.readEntireWorkbook(file),
+                ExcelReaderUtil.readEntireWorkbook(file, new ExcelReaderUtil.ReadOptions().parallelExecutor(pool)));
+    }
+}
@@ -0,0 +1,194 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostgresCopyLoaderTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void copyListsTheMappedColumns() {
+        PostgresCopyLoader loader = new PostgresCopyLoader("orders")
+                .column("id", "order_id", PostgresCopyLoader.ColumnType.INTEGER)
+                .column("price", "unit_price", PostgresCopyLoader.ColumnType.NUMERIC);
+        
+        assertEquals("COPY orders (order_id, unit_price) FROM STDIN", loader.copySql());
+    }
+    
+    @Test
+    void headersAreQuotedAsIdentifiers() {
+        PostgresCopyLoader loader = new PostgresCopyLoader("orders")
+                .column("Order ID", PostgresCopyLoader.ColumnType.INTEGER)
+                .column("say \"hi\"", PostgresCopyLoader.ColumnType.TEXT)
+                .column("price", "unit_price", PostgresCopyLoader.ColumnType.NUMERIC);
+        
+        assertEquals("COPY orders (\"Order ID\", \"say \"\"hi\"\"\", unit_price) FROM STDIN", loader.copySql());
+    }
+    
+    @Test
+    void rowsReadFromTheSheetAreWrittenInCopyTextFormat() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<Object> cells = ExcelReaderUtil.readSheet(file, Fixtures.SHEET).get(2);
+        PostgresCopyLoader loader = new PostgresCopyLoader("t")
+                .column("id", "id", PostgresCopyLoader.ColumnType.INTEGER)
+                .column("name", "name", PostgresCopyLoader.ColumnType.TEXT)
+                .column("price", "price", PostgresCopyLoader.ColumnType.NUMERIC)
+                .column("active", "active", PostgresCopyLoader.ColumnType.BOOLEAN)
+                .column("notes", "notes", PostgresCopyLoader.ColumnType.TEXT);
+        
+        assertEquals("2\tn2\t3.0\tt\t\\N\n", row(loader, cells.get(0), cells.get(1), cells.get(2), cells.get(3), null));
+    }
+    
+    @Test
+    void textIsEscaped() {
+        PostgresCopyLoader loader = new PostgresCopyLoader("t").column("text", "text", PostgresCopyLoader.ColumnType.TEXT);
+        
+        assertEquals("a\\tb\\\\c\\nd\\re\n", row(loader, "a\tb\\c\nd\re"));
+        assertEquals("42\n", row(loader, 42.0));
+    }
+    
+    @Test
+    void integerColumnsRejectValuesOutsideLongRange() {
+        PostgresCopyLoader loader = new PostgresCopyLoader("t").column("n", "n", PostgresCopyLoader.ColumnType.INTEGER);
+        
+        assertEquals("-9223372036854775808\n", row(loader, (double) Long.MIN_VALUE));
+        assertEquals("42\n", row(loader, 42.0));
+        assertThrows(IllegalArgumentException.class, () -> row(loader, (double) Long.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> row(loader, 1e19));
+        assertThrows(IllegalArgumentException.class, () -> row(loader, 1.5));
+    }
+    
+    @Test
+    void batchesAreCommittedOnAnAutoCommitConnection() throws Exception {
+        StubConnection stub = new StubConnection(true, 0);
+        
+        assertEquals(39, loader().load(stub.connection, Fixtures.xlsx(dir).toString(), Fixtures.SHEET));
+        
+        assertEquals(List.of("setAutoCommit(false)", "commit", "commit", "commit", "commit", "setAutoCommit(true)"), stub.calls);
+        assertEquals(39, stub.copied.toString().split("\n").length);
+    }
+    
+    @Test
+    void failedBatchIsRolledBackOnAnAutoCommitConnection() throws Exception {
+        StubConnection stub = new StubConnection(true, 3);
+        
+        assertThrows(SQLException.class, () -> loader().load(stub.connection, Fixtures.xlsx(dir).toString(), Fixtures.SHEET));
+        
+        assertEquals(List.of("setAutoCommit(false)", "commit", "commit", "rollback", "setAutoCommit(true)"), stub.calls);
+    }
+    
+    @Test
+    void callersTransactionIsLeftToTheCaller() throws Exception {
+        StubConnection stub = new StubConnection(false, 0);
+        
+        assertEquals(39, loader().load(stub.connection, Fixtures.xlsx(dir).toString(), Fixtures.SHEET));
+        
+        assertEquals(List.of("setSavepoint", "releaseSavepoint", "setSavepoint", "releaseSavepoint", "setSavepoint",
+                "releaseSavepoint", "setSavepoint", "releaseSavepoint"), stub.calls);
+    }
+    
+    @Test
+    void failedBatchIsRolledBackToItsSavepointInTheCallersTransaction() throws Exception {
+        StubConnection stub = new StubConnection(false, 3);
+        
+        assertThrows(SQLException.class, () -> loader().load(stub.connection, Fixtures.xlsx(dir).toString(), Fixtures.SHEET));
+        
+        assertEquals(List.of("setSavepoint", "releaseSavepoint", "setSavepoint", "releaseSavepoint", "setSavepoint",
+                "rollback(savepoint)"), stub.calls);
+    }
+    
+    /**
+     * @return Loader of the id and price columns in batches of 10 rows, i.e. 4 batches for the 39 data rows
+     */
+    private static PostgresCopyLoader loader() {
+        return new PostgresCopyLoader("t")
+                .column("id", "id", PostgresCopyLoader.ColumnType.INTEGER)
+                .column("price", "price", PostgresCopyLoader.ColumnType.NUMERIC)
+                .batchSize(10);
+    }
+    
+    private static String row(PostgresCopyLoader loader, Object... values) {
+        StringBuilder buffer = new StringBuilder();
+        loader.appendRow(buffer, 1, values);
+        return buffer.toString();
+    }
+    
+    /**
+     * Connection that records its transaction calls, with a CopyManager that collects the copied text
+     */
+    private static final class StubConnection {
+        
+        final List<String> calls = new ArrayList<>();
+        final StringBuilder copied = new StringBuilder();
+        final BaseConnection connection;
+        private CopyManager copyManager;
+        private boolean autoCommit;
+        private int copies;
+        
+        /**
+         * @param autoCommit Initial auto-commit mode
+         * @param failingCopy Number of the COPY that fails to start, or 0 for none
+         */
+        StubConnection(boolean autoCommit, int failingCopy) throws SQLException {
+            this.autoCommit = autoCommit;
+            connection = (BaseConnection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{BaseConnection.class},
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "unwrap":
+                                return proxy;
+                            case "getCopyAPI":
+                                return copyManager;
+                            case "getAutoCommit":
+                                return this.autoCommit;
+                            case "setAutoCommit":
+                                this.autoCommit = (Boolean) args[0];
+                                calls.add("setAutoCommit(" + args[0] + ")");
+                                return null;
+                            case "setSavepoint":
+                                calls.add("setSavepoint");
+                                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Savepoint.class},
+                                        (savepoint, savepointMethod, savepointArgs) -> null);
+                            case "commit":
+                            case "releaseSavepoint":
+                                calls.add(method.getName());
+                                return null;
+                            case "rollback":
+                                calls.add(args == null ? "rollback" : "rollback(savepoint)");
+                                return null;
+                            default:
+                                return null;
+                        }
+                    });
+            copyManager = new CopyManager(connection) {
+                @Override
+                public CopyIn copyIn(String sql) throws SQLException {
+                    if (++copies == failingCopy) {
+                        throw new SQLException("COPY failed");
+                    }
+                    return (CopyIn) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{CopyIn.class},
+                            (proxy, method, args) -> {
+                                if (method.getName().equals("writeToCopy")) {
+                                    copied.append(new String((byte[]) args[0], (Integer) args[1], (Integer) args[2], StandardCharsets.UTF_8));
+                                }
+                                return method.getReturnType() == long.class ? 0L : method.getReturnType() == boolean.class ? false : null;
+                            });
+                }
+            };
+        }
+    }
+}
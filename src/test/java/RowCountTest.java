@@ -0,0 +1,26 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RowCountTest {
+    
+    @TempDir
+    Path dir;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls", "inline"})
+    void rowCountIsLastRowIndexPlusOne(String kind) throws IOException {
+        Path fixture = kind.equals("xls") ? Fixtures.xls(dir) : kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir);
+        String file = fixture.toString();
+        
+        // Like Sheet.getLastRowNum() + 1, so the missing row is counted too
+        assertEquals(Fixtures.EMPTY_ROW + 1, ExcelReaderUtil.getRowCount(file, Fixtures.SHEET));
+        assertEquals(Fixtures.EMPTY_ROW + 1, ExcelReaderUtil.getRowCountByIndex(file, 0));
+        assertEquals(3, ExcelReaderUtil.getRowCount(file, Fixtures.OTHER_SHEET));
+    }
+}
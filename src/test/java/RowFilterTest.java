@@ -0,0 +1,65 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RowFilterTest {
+    
+    @TempDir
+    Path dir;
+    
+    private String fixture(String kind) throws IOException {
+        Path file = kind.equals("xls") ? Fixtures.xls(dir) : kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir);
+        return file.toString();
+    }
+    
+    private static List<ExcelReaderUtil.ReadOptions> variants() {
+        return Arrays.asList(
+                new ExcelReaderUtil.ReadOptions().filter("status", "ACTIVE"::equals),
+                new ExcelReaderUtil.ReadOptions().selectColumns("id").filter(1, "n1"::equals),
+                new ExcelReaderUtil.ReadOptions().filter("price", value -> value instanceof Double && (Double) value > 30));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls", "inline"})
+    void filteredRowsAreReadAlike(String kind) throws IOException {
+        String file = fixture(kind);
+        
+        for (ExcelReaderUtil.ReadOptions options : variants()) {
+            List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, options);
+            List<Map<String, Object>> expectedMaps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET, options);
+            
+            assertEquals(expected.subList(2, 4), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 2, 2, options));
+            options.useCachedFormulaResults(true);
+            assertEquals(expected, ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, Integer.MAX_VALUE, options));
+            assertEquals(expected.subList(2, 4), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 2, 2, options));
+            try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file, Fixtures.SHEET, options)) {
+                assertEquals(expectedMaps, rows.collect(Collectors.toList()));
+            }
+        }
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void headerRowIsKeptAndOnlyMatchingRowsFollow(String kind) throws IOException {
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(fixture(kind), Fixtures.SHEET,
+                new ExcelReaderUtil.ReadOptions().filter("status", "ACTIVE"::equals));
+        
+        assertEquals(Arrays.asList(Fixtures.HEADERS), rows.get(0));
+        // Every third row of rows 1 to 40 is ACTIVE
+        assertEquals(1 + Fixtures.LAST_DATA_ROW / 3, rows.size());
+        for (List<Object> row : rows.subList(1, rows.size())) {
+            assertTrue(row.contains("ACTIVE"));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RowMapperTest {
+    
+    record Item(int id, String name, double price, boolean active, Date when, @ExcelColumn("status") String state) {
+    }
+    
+    static class ItemBean {
+        @ExcelColumn("id")
+        long id;
+        @ExcelColumn("price")
+        float price;
+        @ExcelColumn("when")
+        Date when;
+    }
+    
+    record Id(int id) {
+    }
+    
+    record Missing(String nope) {
+    }
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void recordsMatchReadSheetAsMap() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        
+        List<Item> items = ExcelReaderUtil.readSheetAs(file, Fixtures.SHEET, Item.class);
+        
+        assertEquals(maps.size(), items.size());
+        for (int i = 0; i < maps.size() - 1; i++) {
+            Map<String, Object> map = maps.get(i);
+            Item item = items.get(i);
+            assertEquals(((Double) map.get("id")).intValue(), item.id());
+            assertEquals(map.get("name"), item.name());
+            assertEquals(map.get("price"), item.price());
+            assertEquals(map.get("active"), item.active());
+            assertEquals(map.get("when"), item.when());
+            assertEquals(map.get("status"), item.state());
+        }
+    }
+    
+    @Test
+    void annotatedFieldsMatchReadSheetAsMap() throws IOException {
+        String file = Fixtures.xls(dir).toString();
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        
+        List<ItemBean> items = ExcelReaderUtil.readSheetAs(file, Fixtures.SHEET, ItemBean.class);
+        
+        for (int i = 0; i < maps.size() - 1; i++) {
+            assertEquals(((Double) maps.get(i).get("id")).longValue(), items.get(i).id);
+            assertEquals(((Double) maps.get(i).get("price")).floatValue(), items.get(i).price);
+            assertEquals(maps.get(i).get("when"), items.get(i).when);
+        }
+    }
+    
+    @Test
+    void mappingDoesNotDependOnTheDefaultLocale() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        
+        // Lower-casing "INT" in Turkish gives a dotless i; Id is mapped nowhere else, so its mapper is built here
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        List<Id> ids;
+        try {
+            ids = ExcelReaderUtil.readSheetAs(file, Fixtures.SHEET, Id.class);
+        } finally {
+            Locale.setDefault(locale);
+        }
+        
+        for (int i = 0; i < maps.size() - 1; i++) {
+            assertEquals(((Double) maps.get(i).get("id")).intValue(), ids.get(i).id());
+        }
+    }
+    
+    @Test
+    void unknownHeaderIsRejected() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        
+        assertThrows(IllegalArgumentException.class, () -> ExcelReaderUtil.readSheetAs(file, Fixtures.SHEET, Missing.class));
+    }
+}
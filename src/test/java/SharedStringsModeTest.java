@@ -0,0 +1,46 @@
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SharedStringsModeTest {
+    
+    @TempDir
+    Path dir;
+    
+    @ParameterizedTest
+    @EnumSource(ExcelReaderUtil.SharedStringsMode.class)
+    void sharedStringsModesMatchReadSheet(ExcelReaderUtil.SharedStringsMode mode) throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true).sharedStrings(mode);
+        assertEquals(expected, ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, Integer.MAX_VALUE, options));
+        assertEquals(expected.subList(10, 20), ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 10, 10, options));
+    }
+    
+    @ParameterizedTest
+    @EnumSource(ExcelReaderUtil.SharedStringsMode.class)
+    void escapedSharedStringsAreDecoded(ExcelReaderUtil.SharedStringsMode mode) throws IOException {
+        Path file = dir.resolve("escaped.xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            workbook.createSheet(Fixtures.SHEET).createRow(0).createCell(0).setCellValue("a_x000D_b_x0009_c_x005F_x0041_");
+            workbook.write(out);
+        }
+        
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true).sharedStrings(mode);
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET, 0, 1, options);
+        
+        assertEquals("a\rb\tc_x0041_", rows.get(0).get(0));
+        assertEquals(ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET), rows);
+    }
+}
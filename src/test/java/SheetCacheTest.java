@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SheetCacheTest {
+    
+    @TempDir
+    Path dir;
+    
+    @AfterEach
+    void removeCache() {
+        ExcelReaderUtil.setSheetCache(null);
+    }
+    
+    @Test
+    void cachedResultsMatchUncachedReads() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        SheetCache cache = new SheetCache(10, 10L << 20);
+        ExcelReaderUtil.setSheetCache(cache);
+        
+        List<List<Object>> cachedRows = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        List<Map<String, Object>> cachedMaps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        
+        assertEquals(rows, cachedRows);
+        assertEquals(maps, cachedMaps);
+        assertSame(cachedRows, ExcelReaderUtil.readSheet(file, Fixtures.SHEET));
+        assertSame(cachedMaps, ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertTrue(cache.getEstimatedBytes() > 0);
+        assertThrows(UnsupportedOperationException.class, () -> cachedRows.get(1).set(0, "changed"));
+        assertThrows(UnsupportedOperationException.class, () -> cachedMaps.get(0).put("id", "changed"));
+    }
+    
+    @Test
+    void mapsSharingASchemaAreEstimatedLikeRows() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        SheetCache cache = new SheetCache(10, 10L << 20);
+        ExcelReaderUtil.setSheetCache(cache);
+        
+        ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        long rowBytes = cache.getEstimatedBytes();
+        ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET);
+        
+        // Map rows only carry their values, so they cost no more than the list rows with the header row
+        assertTrue(cache.getEstimatedBytes() - rowBytes <= rowBytes);
+    }
+    
+    @Test
+    void resultOfAFileChangedDuringTheLoadIsNotCached() throws IOException {
+        Path file = Fixtures.xlsx(dir);
+        SheetCache cache = new SheetCache(10, 10L << 20);
+        
+        List<List<Object>> first = cache.get(file.toString(), Fixtures.SHEET, "rows", "", () -> {
+            List<List<Object>> rows = ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+            return rows;
+        });
+        
+        assertEquals(ExcelReaderUtil.readSheet(file.toString(), Fixtures.SHEET), first);
+        assertEquals(0, cache.size());
+    }
+    
+    @Test
+    void entriesOverTheBudgetAreEvicted() throws IOException {
+        String file = Fixtures.xlsx(dir).toString();
+        SheetCache cache = new SheetCache(1, 10L << 20);
+        ExcelReaderUtil.setSheetCache(cache);
+        
+        ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        ExcelReaderUtil.readSheet(file, Fixtures.OTHER_SHEET);
+        
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SheetPublisherTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void publishedRowsMatchReadSheet() throws Exception {
+        String file = Fixtures.xls(dir).toString();
+        
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET), collect(ExcelReaderUtil.publishSheet(file, Fixtures.SHEET)));
+        assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET),
+                collect(ExcelReaderUtil.publishSheetAsMap(file, Fixtures.SHEET)));
+    }
+    
+    @Test
+    void publisherHonoursDemand() throws Exception {
+        String file = Fixtures.xlsx(dir).toString();
+        List<List<Object>> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstBatch = new CountDownLatch(5);
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        
+        ExcelReaderUtil.publishSheet(file, Fixtures.SHEET).subscribe(new Flow.Subscriber<List<Object>>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+                s.request(5);
+            }
+            
+            @Override
+            public void onNext(List<Object> row) {
+                received.add(row);
+                firstBatch.countDown();
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+            }
+            
+            @Override
+            public void onComplete() {
+            }
+        });
+        
+        assertTrue(firstBatch.await(30, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(5, received.size());
+        subscription[0].cancel();
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET).subList(0, 5), received);
+    }
+    
+    @Test
+    void throwingSubscriberIsCancelledWithoutOnError() throws Exception {
+        String file = Fixtures.xlsx(dir).toString();
+        List<String> signals = new ArrayList<>();
+        Flow.Subscription[] subscription = new Flow.Subscription[1];
+        // Rows are delivered on the thread calling request, so each request has been served when it returns
+        ExcelReaderUtil.setAsyncExecutor(Runnable::run);
+        try {
+            ExcelReaderUtil.publishSheet(file, Fixtures.SHEET).subscribe(new Flow.Subscriber<List<Object>>() {
+                @Override
+                public void onSubscribe(Flow.Subscription s) {
+                    subscription[0] = s;
+                }
+                
+                @Override
+                public void onNext(List<Object> row) {
+                    signals.add("onNext");
+                    if (signals.size() == 3) {
+                        throw new IllegalStateException("subscriber failure");
+                    }
+                }
+                
+                @Override
+                public void onError(Throwable throwable) {
+                    signals.add("onError");
+                }
+                
+                @Override
+                public void onComplete() {
+                    signals.add("onComplete");
+                }
+            });
+            subscription[0].request(10);
+            subscription[0].request(10);
+        } finally {
+            ExcelReaderUtil.setAsyncExecutor(null);
+        }
+        
+        assertEquals(List.of("onNext", "onNext", "onNext"), signals);
+    }
+    
+    private static <T> List<T> collect(Flow.Publisher<T> publisher) throws InterruptedException {
+        List<T> received = Collections.synchronizedList(new ArrayList<>());
+        Throwable[] failure = new Throwable[1];
+        CountDownLatch done = new CountDownLatch(1);
+        
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            private Flow.Subscription subscription;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(3);
+            }
+            
+            @Override
+            public void onNext(T item) {
+                received.add(item);
+                if (received.size() % 3 == 0) {
+                    subscription.request(3);
+                }
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                failure[0] = throwable;
+                done.countDown();
+            }
+            
+            @Override
+            public void onComplete() {
+                done.countDown();
+            }
+        });
+        
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertNull(failure[0]);
+        return received;
+    }
+}
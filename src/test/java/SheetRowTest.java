@@ -0,0 +1,41 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class SheetRowTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void rowsShareOneSchemaAndBehaveLikeMaps() throws IOException {
+        List<Map<String, Object>> rows = ExcelReaderUtil.readSheetAsMap(Fixtures.xlsx(dir).toString(), Fixtures.SHEET);
+        Map<String, Object> row = rows.get(1);
+        Map<String, Object> copy = new HashMap<>(row);
+        
+        assertSame(((SheetRow) rows.get(0)).getSchema(), ((SheetRow) row).getSchema());
+        assertEquals(Arrays.asList(Fixtures.HEADERS), Arrays.asList(row.keySet().toArray()));
+        assertEquals(copy, row);
+        assertEquals(row, copy);
+        assertEquals(copy.hashCode(), row.hashCode());
+        assertEquals(2.0, row.get("id"));
+        assertNull(row.get("notes"));
+        
+        row.put("extra", "value");
+        assertEquals(2.0, row.remove("id"));
+        assertFalse(row.containsKey("id"));
+        assertEquals("value", row.get("extra"));
+        assertEquals(Fixtures.HEADERS.length, row.size());
+    }
+}
@@ -0,0 +1,30 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamSheetAsMapTest {
+    
+    @TempDir
+    Path dir;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "inline"})
+    void streamedMapsMatchReadSheetAsMap(String kind) throws IOException {
+        String file = (kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir)).toString();
+        
+        try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file, Fixtures.SHEET)) {
+            assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET), rows.collect(Collectors.toList()));
+        }
+        try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file, Fixtures.SHEET)) {
+            assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET).subList(0, 3), rows.limit(3).collect(Collectors.toList()));
+        }
+    }
+}
@@ -0,0 +1,39 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StringDeduplicationTest {
+    
+    @TempDir
+    Path dir;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls", "inline"})
+    void deduplicatedStringsAreShared(String kind) throws IOException {
+        Path fixture = kind.equals("xls") ? Fixtures.xls(dir) : kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir) : Fixtures.xlsx(dir);
+        String file = fixture.toString();
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        ExcelReaderUtil.ReadOptions options = new ExcelReaderUtil.ReadOptions().deduplicateStrings(true);
+        
+        List<List<Object>> rows = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, options);
+        List<List<Object>> streamed = ExcelReaderUtil.readSheet(file, Fixtures.SHEET, 0, Integer.MAX_VALUE,
+                new ExcelReaderUtil.ReadOptions().useCachedFormulaResults(true).deduplicateStrings(true));
+        List<Map<String, Object>> maps = ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET, options);
+        
+        assertEquals(expected, rows);
+        assertEquals(expected, streamed);
+        // Rows 3 and 6 are both ACTIVE, rows 1 and 2 both INACTIVE
+        assertSame(rows.get(3).get(6), rows.get(6).get(6));
+        assertSame(streamed.get(3).get(6), streamed.get(6).get(6));
+        assertSame(streamed.get(1).get(6), streamed.get(2).get(6));
+        assertSame(maps.get(0).get("status"), maps.get(1).get("status"));
+    }
+}
@@ -0,0 +1,33 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WorkbookSessionTest {
+    
+    @TempDir
+    Path dir;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "xls"})
+    void sessionMatchesOneShotReads(String kind) throws IOException {
+        String file = (kind.equals("xls") ? Fixtures.xls(dir) : Fixtures.xlsx(dir)).toString();
+        
+        try (ExcelReaderUtil.WorkbookSession session = ExcelReaderUtil.open(file)) {
+            assertEquals(ExcelReaderUtil.readEntireWorkbook(file), session.readEntireWorkbook());
+            assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.OTHER_SHEET), session.readSheet(Fixtures.OTHER_SHEET));
+            assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET), session.readSheetAsMap(Fixtures.SHEET));
+            assertEquals(ExcelReaderUtil.getRowCount(file, Fixtures.SHEET), session.getRowCount(Fixtures.SHEET));
+            
+            List<List<Object>> streamed = new ArrayList<>();
+            session.streamSheet(Fixtures.SHEET, (rowIndex, rowData) -> streamed.add(rowData));
+            assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET), streamed);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class XlsStreamingReaderTest {
+    
+    @TempDir
+    Path dir;
+    
+    @Test
+    void streamSheetMatchesReadSheet() throws IOException {
+        String file = Fixtures.xls(dir).toString();
+        
+        List<List<Object>> streamed = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> streamed.add(rowData));
+        
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET), streamed);
+        try (Stream<Map<String, Object>> rows = ExcelReaderUtil.streamSheetAsMap(file, Fixtures.SHEET)) {
+            assertEquals(ExcelReaderUtil.readSheetAsMap(file, Fixtures.SHEET), rows.collect(Collectors.toList()));
+        }
+    }
+    
+    @Test
+    void stringsAreNotEscaped() throws IOException {
+        String file = Fixtures.xls(dir).toString();
+        List<List<Object>> streamed = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> streamed.add(rowData));
+        
+        // Only SpreadsheetML escapes characters as _xHHHH_, BIFF stores the text as written
+        assertEquals(Fixtures.ESCAPED_NAME, streamed.get(3).get(1));
+    }
+    
+    @Test
+    void blankCellRunIsReadLikeTheDom() throws IOException {
+        String file = Fixtures.xls(dir).toString();
+        List<List<Object>> streamed = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> streamed.add(rowData));
+        
+        // Row 7 is missing, so the run of blank cells is on the 9th row read
+        List<Object> row = streamed.get(Fixtures.BLANK_RUN_ROW - 1);
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET).get(Fixtures.BLANK_RUN_ROW - 1), row);
+        assertEquals(Fixtures.HEADERS.length - 1 + 4, row.size());
+    }
+}
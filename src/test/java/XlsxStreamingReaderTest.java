@@ -0,0 +1,50 @@
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class XlsxStreamingReaderTest {
+    
+    @TempDir
+    Path dir;
+    
+    private String fixture(String kind) throws IOException {
+        return kind.equals("inline") ? Fixtures.inlineStringsXlsx(dir).toString() : Fixtures.xlsx(dir).toString();
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "inline"})
+    void streamSheetMatchesReadSheet(String kind) throws IOException {
+        String file = fixture(kind);
+        List<List<Object>> expected = ExcelReaderUtil.readSheet(file, Fixtures.SHEET);
+        
+        List<List<Object>> streamed = new ArrayList<>();
+        List<Integer> rowIndexes = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> {
+            rowIndexes.add(rowIndex);
+            streamed.add(rowData);
+        });
+        
+        assertEquals(expected, streamed);
+        assertFalse(rowIndexes.contains(Fixtures.MISSING_ROW));
+        assertEquals(Fixtures.EMPTY_ROW, (int) rowIndexes.get(rowIndexes.size() - 1));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"xlsx", "inline"})
+    void escapedStringsAreDecoded(String kind) throws IOException {
+        String file = fixture(kind);
+        List<List<Object>> streamed = new ArrayList<>();
+        ExcelReaderUtil.streamSheet(file, Fixtures.SHEET, (rowIndex, rowData) -> streamed.add(rowData));
+        
+        assertEquals("line\rbreak", streamed.get(3).get(1));
+        assertEquals(ExcelReaderUtil.readSheet(file, Fixtures.SHEET).get(3), streamed.get(3));
+    }
+}